@@ -0,0 +1,145 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://oss.oracle.com/licenses/CDDL+GPL-1.1
+ * or LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package javax.security.enterprise;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.security.enterprise.authentication.mechanism.http.HttpMessageContext;
+import javax.security.enterprise.authentication.mechanism.http.RegisteredIdentity;
+
+/**
+ * <code>RoleMapper</code> maps the groups of an authenticated caller to the logical <em>application</em>
+ * roles that are tested by {@link SecurityContext#isCallerInRole(String)} and its container specific
+ * equivalents.
+ * 
+ * <p>
+ * Each role known to the application is assigned a fixed index when the application is deployed. The roles of a
+ * caller are then represented by a <code>long[]</code>, in which the bit for a role is set if the caller is in that
+ * role. The layout of this array is the same as that of {@link BitSet#toLongArray()}; the bit for the role at index
+ * <code>i</code> is bit <code>i % 64</code> of element <code>i / 64</code>.
+ * 
+ * <p>
+ * This allows a runtime to map the groups of a caller to roles only once, when the caller's identity is established
+ * by {@link HttpMessageContext#notifyContainerAboutLogin(java.security.Principal, Set)} or a similar method,
+ * after which each role check is a single bit test instead of a lookup of strings in a set.
+ * 
+ * <p>
+ * Implementations must be thread-safe. The roles and their indexes must not change after deployment, but may
+ * differ between deployments, or between the servers of a cluster that run different versions of an application.
+ * Role bits that outlive a deployment, such as those of a {@link RegisteredIdentity} kept in a persisted or
+ * replicated HTTP session, must therefore only be used when they were mapped by a mapper with the same
+ * {@link #getRoleMappingFingerprint() fingerprint}; otherwise the roles must be mapped again from the groups.
+ * 
+ * <p>
+ * A runtime that uses a <code>RoleMapper</code> should make it available as an injectable CDI bean, so that
+ * application code can perform the same bit tests, for instance with role indexes it obtained once.
+ *
+ */
+public interface RoleMapper {
+
+    /**
+     * Returns all logical application roles known to this mapper, where the role at position <code>i</code>
+     * in the returned list is the role with index <code>i</code>.
+     * 
+     * @return an unmodifiable list of all roles known to this mapper, in order of their index.
+     */
+    List<String> getRoles();
+
+    /**
+     * Returns a fingerprint of the mapping performed by this mapper. Two mappers with the same fingerprint
+     * are trusted to assign the same indexes to the same roles, and to map the same groups to the same roles;
+     * role bits mapped by one are used as-is with the other.
+     * 
+     * <p>
+     * The fingerprint must be a collision resistant digest, such as the hexadecimal encoding of a SHA-256 hash,
+     * computed over both the roles in order of their index (see {@link #getRoles()}) and the complete mapping of
+     * groups to roles, for instance as read from a deployment descriptor. A change to either, e.g. a group that is
+     * mapped to another role after a redeployment, must result in a different fingerprint.
+     * 
+     * @return the fingerprint of the mapping performed by this mapper, never <code>null</code>
+     */
+    String getRoleMappingFingerprint();
+
+    /**
+     * Returns the index assigned to the given logical application role.
+     * 
+     * @param role the name of the logical application role
+     * @return the index of the role, or <code>-1</code> if the role is not known to this mapper.
+     */
+    int getRoleIndex(String role);
+
+    /**
+     * Maps the given groups of a caller to the logical application roles the caller is in.
+     * 
+     * @param groups the groups of the caller, for instance as returned by a successful credential validation.
+     * @return the roles the caller is in, as a bit set in the layout described above. The caller is not in any
+     * role for which the bit is outside the returned array.
+     */
+    long[] mapGroupsToRoles(Set<String> groups);
+
+    /**
+     * Checks whether the given role is set in the given roles, as returned by {@link #mapGroupsToRoles(Set)}.
+     * 
+     * @param roles the roles of a caller, as returned by {@link #mapGroupsToRoles(Set)}.
+     * @param role the name of the logical application role
+     * @return <code>true</code> if the role is known to this mapper and its bit is set in <code>roles</code>,
+     * <code>false</code> otherwise.
+     */
+    default boolean isInRole(long[] roles, String role) {
+        return isInRole(roles, getRoleIndex(role));
+    }
+
+    /**
+     * Checks whether the role with the given index is set in the given roles, as returned by
+     * {@link #mapGroupsToRoles(Set)}.
+     * 
+     * @param roles the roles of a caller, as returned by {@link #mapGroupsToRoles(Set)}.
+     * @param roleIndex the index of the role, as returned by {@link #getRoleIndex(String)}.
+     * @return <code>true</code> if the bit for the role is set in <code>roles</code>, <code>false</code> otherwise
+     * or if the index is negative.
+     */
+    static boolean isInRole(long[] roles, int roleIndex) {
+        return roleIndex >= 0 && (roleIndex >>> 6) < roles.length && (roles[roleIndex >>> 6] & (1L << roleIndex)) != 0;
+    }
+
+}
@@ -41,6 +41,7 @@
 package javax.security.enterprise;
 
 import java.security.Principal;
+import java.util.BitSet;
 import java.util.Set;
 
 import javax.ejb.SessionContext;
@@ -77,9 +78,13 @@ public interface SecurityContext {
      * This can be used to retrieve application-specific
      * Principals when the platform's representation of the caller uses a different principal type.
      * <p>
-     * The returned Set is not backed by the Subject's internal Principal Set.
-     * A new Set is created and returned for each method invocation.
-     * Modifications to the returned Set will not affect the internal Principal Set.
+     * The returned Set is never backed by the Subject's internal Principal Set.
+     * <p>
+     * Implementations may create a new Set for each method invocation, but are not required to; as the
+     * principals of an authenticated caller do not change, they may for instance index them by type once per
+     * authenticated identity (and keep that index along with an identity registered in the HTTP session),
+     * and return the same Set for every invocation with the same type. Such a shared Set may be unmodifiable.
+     * Callers must therefore not modify the returned Set, but copy it if they need a modifiable Set.
      * 
      * @param pType Class object representing the type of Principal to return.
      *
@@ -102,6 +107,13 @@ public interface SecurityContext {
 	 * be {@link HttpServletRequest#isUserInRole(String)} and for EJB beans that would be 
 	 * {@link SessionContext#isCallerInRole(String)}.
 	 * 
+	 * <p>
+	 * The outcome of this method for a given role only changes when the authenticated identity changes. Implementations
+	 * may therefore remember outcomes for the duration of the current request, provided that they are discarded
+	 * when the identity changes during the request, such as after a call to
+	 * {@link #authenticate(HttpServletRequest, HttpServletResponse, AuthenticationParameters)} or
+	 * {@link HttpServletRequest#logout()}.
+	 * 
 	 * 	  
 	 * @param role a <code>String</code> specifying the name of the logical application role
 	 * @return <code>true</code> if the authenticated caller is in the given role, false if the caller is not authentication or
@@ -109,6 +121,30 @@ public interface SecurityContext {
 	 */
 	boolean isCallerInRole(String role);
 
+    /**
+     * Checks for each of the specified logical <em>application</em> roles whether the authenticated caller is
+     * included in it. If the caller is not authenticated, the result has no bits set.
+     * 
+     * <p>
+     * The same restrictions as for {@link #isCallerInRole(String)} apply. The default implementation calls
+     * {@link #isCallerInRole(String)} for each role; implementations are encouraged to override it in order to
+     * resolve the caller's roles only once.
+     * 
+     * @param roles the names of the logical application roles
+     * @return a <code>BitSet</code> in which the bit at index <code>i</code> is set if the authenticated caller is in
+     * the role at index <code>i</code> of <code>roles</code>.
+     */
+    default BitSet areCallerInRoles(String... roles) {
+        BitSet callerInRoles = new BitSet(roles.length);
+        for (int i = 0; i < roles.length; i++) {
+            if (isCallerInRole(roles[i])) {
+                callerInRoles.set(i);
+            }
+        }
+        
+        return callerInRoles;
+    }
+
 	/**
      * Checks whether the caller has access to the provided "web resource" using the given methods, 
      * as specified by section 13.8 of the Servlet specification.
@@ -117,6 +153,13 @@ public interface SecurityContext {
      * A caller has access if the web resource is either not protected (constrained), or when it is protected by a role
      * and the caller is in that role.
      * 
+     * <p>
+     * Since the security constraints of an application do not change after deployment, implementations are
+     * encouraged to compile them once into an index that can answer this method without allocating, for instance
+     * a tree of path segments for exact and path-prefix patterns plus a map for extension patterns, holding the
+     * roles that are allowed for each method. This method is typically called many times while rendering a single
+     * page, e.g. to decide which links to show.
+     * 
      * @param resource the name of the web resource to test access for. This is a <code>URLPatternSpec</code> that 
      * identifies the application specific web resources to which the permission pertains. For a full specification of this
      * pattern see {@link javax.security.jacc.WebResourcePermission#WebResourcePermission(String, String)}.
@@ -125,6 +168,26 @@ public interface SecurityContext {
      * @return <code>true</code> if the caller has access to the web resource using one of the given methods, <code>false</code> otherwise. 
      */
 	boolean hasAccessToWebResource(String resource, String... methods);
+
+    /**
+     * Checks whether the caller has access to the provided "web resource" using the given method,
+     * as specified by section 13.8 of the Servlet specification.
+     * 
+     * <p>
+     * This is equivalent to {@link #hasAccessToWebResource(String, String...)} called with a single method, but
+     * does not require an array to be created for each call. It has a distinct name, so that existing calls such as
+     * <code>hasAccessToWebResource(resource, null)</code> remain unambiguous. The default implementation delegates
+     * to {@link #hasAccessToWebResource(String, String...)}; implementations are encouraged to override it.
+     * 
+     * @param resource the name of the web resource to test access for. See
+     * {@link #hasAccessToWebResource(String, String...)}.
+     * @param method the method to check for whether the caller has access to the web resource using that method.
+     * 
+     * @return <code>true</code> if the caller has access to the web resource using the given method, <code>false</code> otherwise.
+     */
+    default boolean hasAccessToWebResourceForMethod(String resource, String method) {
+        return hasAccessToWebResource(resource, new String[] { method });
+    }
     
 	/**
 	 * Signal to the container (programmatically trigger) that it should start or continue a web/HTTP based authentication dialog with 
@@ -0,0 +1,135 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://oss.oracle.com/licenses/CDDL+GPL-1.1
+ * or LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package javax.security.enterprise;
+
+import javax.security.enterprise.authentication.mechanism.http.HttpAuthenticationMechanism;
+import javax.security.enterprise.authentication.mechanism.http.HttpMessageContext;
+import javax.security.enterprise.credential.Credential;
+import javax.security.enterprise.identitystore.CredentialValidationResult;
+import javax.security.enterprise.identitystore.CredentialValidationResult.Status;
+import javax.security.enterprise.identitystore.IdentityStore;
+import javax.security.enterprise.identitystore.PasswordHash;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * <code>SecurityMetrics</code> is a vendor-neutral SPI through which the runtime reports how long the calls it makes
+ * to identity stores, password hashes and authentication mechanisms take, and what their outcome was.
+ * 
+ * <p>
+ * If an enabled CDI bean of this type is available, the runtime calls it after each of the calls listed below.
+ * Otherwise, {@link #NO_OP} is used, which allows runtimes to skip taking timings altogether.
+ * 
+ * <ul>
+ * <li>{@link IdentityStore#validate(Credential)}, reported to {@link #recordValidate(String, Class, Status, long)}</li>
+ * <li>{@link IdentityStore#getCallerGroups(CredentialValidationResult)}, reported to
+ * {@link #recordGetCallerGroups(String, int, long)}</li>
+ * <li>{@link PasswordHash#verify(char[], String)}, as called by built-in identity stores, reported to
+ * {@link #recordVerify(Class, boolean, long)}</li>
+ * <li>{@link HttpAuthenticationMechanism#validateRequest(HttpServletRequest, HttpServletResponse, HttpMessageContext)},
+ * including the interceptors around it, reported to {@link #recordValidateRequest(Class, AuthenticationStatus, long)}</li>
+ * </ul>
+ * 
+ * <p>
+ * Identity stores are identified by a store id, which is fixed per store: it is the fully qualified name of the
+ * store's bean class. Where the runtime creates several stores of the same class, such as the built-in stores for
+ * several identity store definitions, it appends a suffix (e.g. <code>#1</code>) that distinguishes them and does
+ * not change for the lifetime of the deployment. The store id is never derived from the
+ * {@link CredentialValidationResult} passed to or returned by a store; in particular, the result passed to
+ * {@link IdentityStore#getCallerGroups(CredentialValidationResult)} is usually produced by another store.
+ * 
+ * <p>
+ * Methods of this interface are called on the thread that made the call being reported, while that thread is
+ * authenticating a caller. Implementations must be thread-safe, must not block and should not allocate, for instance
+ * by recording durations in lock-free histograms (such as HDR histograms) and outcomes in counters that are
+ * created once per combination of tags. Exceptions thrown by these methods are ignored by the runtime.
+ *
+ */
+public interface SecurityMetrics {
+
+    /**
+     * An implementation that records nothing.
+     */
+    SecurityMetrics NO_OP = new SecurityMetrics() {};
+
+    /**
+     * Records a call to {@link IdentityStore#validate(Credential)}.
+     * 
+     * @param storeId the id of the identity store
+     * @param credentialType the class of the credential that was validated
+     * @param status the status of the returned result, or null if the call threw an exception
+     * @param durationNanos the duration of the call in nanoseconds
+     */
+    default void recordValidate(String storeId, Class<? extends Credential> credentialType, Status status, long durationNanos) {
+    }
+
+    /**
+     * Records a call to {@link IdentityStore#getCallerGroups(CredentialValidationResult)}.
+     * 
+     * @param storeId the id of the identity store
+     * @param groupCount the number of returned groups, or -1 if the call threw an exception
+     * @param durationNanos the duration of the call in nanoseconds
+     */
+    default void recordGetCallerGroups(String storeId, int groupCount, long durationNanos) {
+    }
+
+    /**
+     * Records a call to {@link PasswordHash#verify(char[], String)}.
+     * 
+     * @param passwordHashType the class of the password hash, as configured, e.g. {@code Pbkdf2PasswordHash.class}
+     * @param matched whether the password matched the hashed password
+     * @param durationNanos the duration of the call in nanoseconds
+     */
+    default void recordVerify(Class<? extends PasswordHash> passwordHashType, boolean matched, long durationNanos) {
+    }
+
+    /**
+     * Records a call to
+     * {@link HttpAuthenticationMechanism#validateRequest(HttpServletRequest, HttpServletResponse, HttpMessageContext)}.
+     * 
+     * @param mechanismType the bean class of the authentication mechanism
+     * @param status the returned status, or null if the call threw an exception
+     * @param durationNanos the duration of the call in nanoseconds
+     */
+    default void recordValidateRequest(Class<? extends HttpAuthenticationMechanism> mechanismType, AuthenticationStatus status, long durationNanos) {
+    }
+
+}
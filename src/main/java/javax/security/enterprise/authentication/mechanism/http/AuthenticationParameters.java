@@ -50,6 +50,14 @@ import javax.security.enterprise.credential.Credential;
  */
 public class AuthenticationParameters {
 
+    /**
+     * An unmodifiable instance without a credential, and with all flags set to <code>false</code>.
+     * This is the instance returned by {@link HttpMessageContext#getAuthParameters()} when no parameters
+     * were provided, which is shared between requests. All its setters, including the fluent ones,
+     * throw an {@link UnsupportedOperationException}.
+     */
+    public static final AuthenticationParameters DEFAULT_PARAMETERS = new UnmodifiableAuthenticationParameters();
+
     private Credential credential;
     private boolean newAuthentication;
     private boolean rememberMe;
@@ -179,4 +187,22 @@ public class AuthenticationParameters {
         this.rememberMe = rememberMe;
     }
 
+    private static final class UnmodifiableAuthenticationParameters extends AuthenticationParameters {
+
+        @Override
+        public void setCredential(Credential credential) {
+            throw new UnsupportedOperationException("The default authentication parameters can not be modified");
+        }
+
+        @Override
+        public void setNewAuthentication(boolean newAuthentication) {
+            throw new UnsupportedOperationException("The default authentication parameters can not be modified");
+        }
+
+        @Override
+        public void setRememberMe(boolean rememberMe) {
+            throw new UnsupportedOperationException("The default authentication parameters can not be modified");
+        }
+    }
+
 }
@@ -47,7 +47,9 @@ import java.lang.annotation.Inherited;
 import java.lang.annotation.Retention;
 import java.lang.annotation.Target;
 
+import javax.enterprise.util.Nonbinding;
 import javax.interceptor.InterceptorBinding;
+import javax.servlet.http.Cookie;
 
 /**
  * The AutoApplySession annotation provides an application the ability to declaratively designate
@@ -58,10 +60,61 @@ import javax.interceptor.InterceptorBinding;
  * See the JASPIC 1.1 specification section 3.8.4 for further details on <code>javax.servlet.http.registerSession</code>.
  * 
  * <p>
+ * The identity kept for this purpose is a {@link RegisteredIdentity}, either as provided to
+ * {@link HttpMessageContext#setRegisterSession(RegisteredIdentity)} or created from the arguments of
+ * {@link HttpMessageContext#setRegisterSession(String, java.util.Set)}, and is re-applied for every request.
+ * 
+ * <p>
+ * By default the identity is kept in the HTTP session, as described by JASPIC. Alternatively, with
+ * {@link Storage#COOKIE}, the identity is kept by the client in a cookie, so that any server of a cluster
+ * can re-apply it without sticky sessions or session replication. In that case:
+ * 
+ * <ul>
+ * <li>The cookie value is the identity, encrypted and authenticated by the runtime with a symmetric key
+ * (e.g. using AES-GCM). A value that fails authentication is ignored, as if no cookie was sent.</li>
+ * <li>The value contains the time at which it expires, which is <code>cookieMaxAgeSeconds</code> after
+ * it was issued. The runtime issues a new value when more than half of that time has passed, so that the
+ * identity expires only after <code>cookieMaxAgeSeconds</code> without requests (sliding expiry).</li>
+ * <li>The value also contains the time at which the caller originally authenticated. A new value is never
+ * issued with an expiry later than <code>cookieMaxLifetimeSeconds</code> after that time, and a value is
+ * rejected once that time has passed, regardless of sliding expiry (absolute expiry). After this, the caller
+ * has to authenticate again.</li>
+ * <li>The role bits contained in the identity are subject to the same
+ * {@link javax.security.enterprise.RoleMapper#getRoleMappingFingerprint() fingerprint} check as those of an
+ * identity kept in the HTTP session; see {@link RegisteredIdentity}.</li>
+ * <li>The value contains the identifier of the key it was protected with. The runtime accepts values
+ * protected by its current key and by a configurable number of previous keys, and issues a new value protected by
+ * the current key for the latter. How keys are created, shared between the servers of a cluster and rotated
+ * is specific to the runtime.</li>
+ * <li>The identity can be restored with only CPU work; no server side state is needed.</li>
+ * <li>Browsers are only required to store cookies of up to 4096 bytes, including name and attributes, and
+ * silently drop larger ones. When the cookie for an identity would be larger than that, for instance for a caller
+ * in many groups, the runtime must not issue it. Instead, it must keep that identity in the HTTP session, as with
+ * {@link Storage#SESSION}, and log a warning stating the caller name and the size of the cookie.</li>
+ * <li>{@link javax.servlet.http.HttpServletRequest#logout()} and {@link HttpMessageContext#cleanClientSubject()}
+ * must delete the cookie, by sending a cookie with the same name, path and domain, an empty value and a max
+ * age of <code>0</code>.</li>
+ * </ul>
+ * 
+ * <p>
+ * Since no server side state is kept, deleting the cookie only affects the client that performed the logout.
+ * A copy of the cookie value, for instance one captured from another client or from network traffic, remains
+ * valid until it expires, which is at most <code>cookieMaxAgeSeconds</code> after it was issued and never later
+ * than <code>cookieMaxLifetimeSeconds</code> after the caller originally authenticated. Applications that need
+ * immediate revocation should use {@link Storage#SESSION}, or rotate the key.
+ * 
+ * <p>
  * This support is provided via an implementation of an interceptor spec interceptor that conducts the
  * necessary logic.
  * 
  * <p>
+ * EL expressions in <code>storageExpression</code> and <code>cookieName</code> are evaluated only once, when
+ * the interceptor is first used, as changing where or under which name the identity is kept between requests would
+ * lose it. EL expressions in the other attributes of type <code>String</code> are evaluated for every request
+ * for which a cookie is checked or issued. Both immediate and deferred syntax is supported. Expressions are only
+ * parsed once; see the description of the evaluation of expressions in the {@link javax.security.enterprise} package.
+ * 
+ * <p>
  * Example:
  * 
  * <pre>
@@ -80,4 +133,138 @@ import javax.interceptor.InterceptorBinding;
 @Retention(RUNTIME)
 @Target(TYPE)
 public @interface AutoApplySession {
+
+    /**
+     * Enum representing where the registered identity is kept between requests.
+     */
+    enum Storage {
+
+        /**
+         * The identity is kept in the HTTP session.
+         */
+        SESSION,
+
+        /**
+         * The identity is kept in an encrypted and authenticated cookie.
+         */
+        COOKIE
+    }
+
+    /**
+     * Where the registered identity is kept between requests.
+     * 
+     * @return where the registered identity is kept
+     */
+    @Nonbinding
+    Storage storage() default Storage.SESSION;
+
+    /**
+     * EL expression variant of <code>storage()</code>.
+     * The expression needs to evaluate to a {@link Storage} outcome. If both this attribute and
+     * <code>storage()</code> are specified, this attribute takes precedence.
+     * <p>
+     * Contrary to the other expressions of this annotation, this expression is evaluated only once.
+     * 
+     * @return an expression evaluating to where the registered identity is kept
+     */
+    @Nonbinding
+    String storageExpression() default "";
+
+    /**
+     * Name of the cookie in which the identity is kept when {@link Storage#COOKIE} is used.
+     * 
+     * @see Cookie#getName()
+     * 
+     * @return The name of the cookie
+     */
+    @Nonbinding
+    String cookieName() default "JREGISTEREDIDENTITY";
+
+    /**
+     * Number of seconds without requests after which the identity kept in a cookie expires,
+     * when {@link Storage#COOKIE} is used. Defaults to 30 minutes.
+     * 
+     * @see Cookie#setMaxAge(int)
+     * 
+     * @return Max age in seconds
+     */
+    @Nonbinding
+    int cookieMaxAgeSeconds() default 1800; // 30 minutes
+
+    /**
+     * EL expression variant of <code>cookieMaxAgeSeconds()</code>.
+     * The expression needs to evaluate to an integer outcome. If both this attribute and
+     * <code>cookieMaxAgeSeconds()</code> are specified, this attribute takes precedence.
+     * 
+     * @return an expression evaluating to an integer designating the max age in seconds for the cookie.
+     */
+    @Nonbinding
+    String cookieMaxAgeSecondsExpression() default "";
+
+    /**
+     * Number of seconds after the caller originally authenticated after which the identity kept in a cookie
+     * expires, regardless of any requests made in the meantime, when {@link Storage#COOKIE} is used.
+     * Defaults to 8 hours.
+     * 
+     * @return Max lifetime in seconds
+     */
+    @Nonbinding
+    int cookieMaxLifetimeSeconds() default 28800; // 8 hours
+
+    /**
+     * EL expression variant of <code>cookieMaxLifetimeSeconds()</code>.
+     * The expression needs to evaluate to an integer outcome. If both this attribute and
+     * <code>cookieMaxLifetimeSeconds()</code> are specified, this attribute takes precedence.
+     * 
+     * @return an expression evaluating to an integer designating the max lifetime in seconds of the identity
+     * kept in the cookie.
+     */
+    @Nonbinding
+    String cookieMaxLifetimeSecondsExpression() default "";
+
+    /**
+     * Flag to indicate that the cookie in which the identity is kept should only be
+     * sent using a secure protocol (e.g. HTTPS or SSL).
+     * 
+     * @see Cookie#setSecure(boolean)
+     * 
+     * @return true if the cookie should be sent using a secure protocol only
+     * false for any protocol.
+     */
+    @Nonbinding
+    boolean cookieSecureOnly() default true;
+
+    /**
+     * EL expression variant of <code>cookieSecureOnly()</code>.
+     * The expression needs to evaluate to a boolean outcome. If both this attribute and
+     * <code>cookieSecureOnly()</code> are specified, this attribute takes precedence.
+     * 
+     * @return an expression evaluating to true if the cookie should be sent using a secure protocol only,
+     * false otherwise.
+     */
+    @Nonbinding
+    String cookieSecureOnlyExpression() default "";
+
+    /**
+     * Flag to indicate that the cookie in which the identity is kept should not be exposed to
+     * client-side scripting code, and should only be sent with HTTP requests.
+     * 
+     * @see Cookie#setHttpOnly(boolean)
+     * 
+     * @return true if the cookie should be sent only with HTTP requests 
+     * (and not be made available to client-side scripting code), false otherwise.
+     */
+    @Nonbinding
+    boolean cookieHttpOnly() default true;
+
+    /**
+     * EL expression variant of <code>cookieHttpOnly()</code>.
+     * The expression needs to evaluate to a boolean outcome. If both this attribute and
+     * <code>cookieHttpOnly()</code> are specified, this attribute takes precedence.
+     * 
+     * @return an expression evaluating to true if the cookie should be sent only with HTTP requests, false otherwise.
+     */
+    @Nonbinding
+    String cookieHttpOnlyExpression() default "";
+
 }
@@ -92,7 +92,8 @@ public interface HttpAuthenticationMechanism {
      * 
      * <p>
      * A CDI/Interceptor spec interceptor can be used to prevent calls to this method if needed. 
-     * See {@link AutoApplySession} and {@link RememberMe} for two examples.
+     * See {@link AutoApplySession} and {@link RememberMe} for two examples. Calls for requests to public resources
+     * that carry no credential can be prevented altogether with {@link SkipAnonymousPublicRequests}.
      * 
      * @param request contains the request the client has made
      * @param response contains the response that will be send to the client
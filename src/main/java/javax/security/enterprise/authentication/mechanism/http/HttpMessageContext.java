@@ -58,6 +58,17 @@ import javax.servlet.http.HttpServletResponse;
 /**
  * <code>HttpMessageContext</code> contains all of the per-request state information and encapsulates the client request, 
  * server response, container handler for authentication callbacks, and the subject representing the caller.
+ * 
+ * <p>
+ * An instance is only valid during the call to the {@link HttpAuthenticationMechanism} method (and the interceptors
+ * around it) it was passed to. Runtimes may reset and reuse instances for subsequent requests, for instance by keeping
+ * one per thread or on the request, in order to avoid creating a new context for every request. Authentication mechanisms
+ * and interceptors must therefore not keep a reference to an instance, or to a wrapper around it, after that call has
+ * returned.
+ * 
+ * <p>
+ * Interceptors that only need to replace the request or response should use {@link #setRequest(HttpServletRequest)} and
+ * {@link #setResponse(HttpServletResponse)} instead of wrapping the context in a {@link HttpMessageContextWrapper}.
  *
  */
 public interface HttpMessageContext {
@@ -99,6 +110,20 @@ public interface HttpMessageContext {
      */
     void setRegisterSession(String callerName, Set<String> groups);
 
+    /**
+     * Asks the runtime to register an authentication session for the given identity snapshot.
+     * 
+     * <p>
+     * This has the same effect as {@link #setRegisterSession(String, Set)}, but allows the runtime to keep
+     * the given immutable snapshot, including any roles already mapped for the caller, and re-apply it
+     * as-is for subsequent requests. The default implementation delegates to {@link #setRegisterSession(String, Set)}.
+     * 
+     * @param identity the identity for which authentication should be remembered
+     */
+    default void setRegisterSession(RegisteredIdentity identity) {
+        setRegisterSession(identity.getCallerName(), identity.getGroups());
+    }
+
     /**
      * Convenience method to clean the subject associated with this context.
      * 
@@ -113,7 +138,11 @@ public interface HttpMessageContext {
     /**
      * Returns the parameters that were provided with the SecurityContext#authenticate(AuthParameters) call.
      *  
-     * @return the parameters that were provided with the SecurityContext#authenticate(AuthParameters) call, or a default instance. Never null.
+     * <p>
+     * When no parameters were provided, this returns {@link AuthenticationParameters#DEFAULT_PARAMETERS}, which is
+     * shared between requests and therefore unmodifiable. Runtimes must not return another shared instance.
+     *  
+     * @return the parameters that were provided with the SecurityContext#authenticate(AuthParameters) call, or {@link AuthenticationParameters#DEFAULT_PARAMETERS}. Never null.
      */
     AuthenticationParameters getAuthParameters();
 
@@ -317,6 +346,28 @@ public interface HttpMessageContext {
      */
     AuthenticationStatus notifyContainerAboutLogin(CredentialValidationResult result);
 
+    /**
+     * Asks the container to register the caller name and groups of the given identity snapshot, for instance
+     * one that was registered earlier via {@link #setRegisterSession(RegisteredIdentity)}.
+     * 
+     * <p>
+     * This has the same effect as {@link #notifyContainerAboutLogin(String, Set)}, but allows the runtime to use
+     * the roles already mapped for the caller instead of mapping the groups again, provided they were mapped by an
+     * equivalent {@link javax.security.enterprise.RoleMapper RoleMapper} (see {@link RegisteredIdentity#remap}).
+     * The default implementation
+     * delegates to {@link #notifyContainerAboutLogin(String, Set)}.
+     * 
+     * <p>
+     * As a convenience this method returns SUCCESS, so this method can be used in
+     * one fluent return statement from an {@link HttpAuthenticationMechanism}
+     * 
+     * @param identity the identity that will become the authenticated identity
+     * @return {@link AuthenticationStatus#SUCCESS}
+     */
+    default AuthenticationStatus notifyContainerAboutLogin(RegisteredIdentity identity) {
+        return notifyContainerAboutLogin(identity.getCallerName(), identity.getGroups());
+    }
+
     /**
      * Instructs the container to "do nothing".
      * 
@@ -57,6 +57,8 @@ import javax.servlet.http.HttpServletResponse;
  * functionality.
  * <p>
  * All methods default to calling the wrapped object.
+ * <p>
+ * A wrapper is subject to the same lifetime as the context it wraps; see {@link HttpMessageContext}.
  *
  */
 public class HttpMessageContextWrapper implements HttpMessageContext {
@@ -91,6 +93,11 @@ public class HttpMessageContextWrapper implements HttpMessageContext {
         getWrapped().setRegisterSession(callerName, groups);
     }
 
+    @Override
+    public void setRegisterSession(RegisteredIdentity identity) {
+        getWrapped().setRegisterSession(identity);
+    }
+
     @Override
     public void cleanClientSubject() {
         getWrapped().cleanClientSubject();
@@ -176,6 +183,11 @@ public class HttpMessageContextWrapper implements HttpMessageContext {
         return getWrapped().notifyContainerAboutLogin(result);
     }
 
+    @Override
+    public AuthenticationStatus notifyContainerAboutLogin(RegisteredIdentity identity) {
+        return getWrapped().notifyContainerAboutLogin(identity);
+    }
+
     @Override
     public AuthenticationStatus doNothing() {
         return getWrapped().doNothing();
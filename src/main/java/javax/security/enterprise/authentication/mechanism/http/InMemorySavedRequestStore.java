@@ -0,0 +1,71 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://oss.oracle.com/licenses/CDDL+GPL-1.1
+ * or LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package javax.security.enterprise.authentication.mechanism.http;
+
+/**
+ * This interface represents the built-in {@code InMemorySavedRequestStore} implementation,
+ * which keeps saved requests in a bounded memory area of the server, without using the HTTP session.
+ * <p>
+ * A saved request is associated with the caller by means of a cookie containing a random identifier.
+ * Saved requests expire after a configurable time, and when the store is full, the requests that were
+ * saved first are evicted first.
+ * <p>
+ * To configure parameters for {@code InMemorySavedRequestStore}, specify them as the
+ * {@code savedRequestStoreParameters} value on the {@link LoginToContinue} annotation.
+ * <p>
+ * The built-in implementation must support the following configurable parameters:
+ * <blockquote><pre>
+InMemorySavedRequestStore.MaxRequests        // default 10000
+InMemorySavedRequestStore.TimeToLiveSeconds  // default 300
+InMemorySavedRequestStore.CookieName         // default "JSAVEDREQUESTID"
+ * </pre></blockquote>
+ * In addition to the number of requests, the total size of the bodies of the saved requests is bounded,
+ * as described for {@link SavedRequestStore}.
+ * <p>
+ * Since the requests are kept by a single server, a cluster using this store requires that the
+ * login dialog of a caller is handled by the same server.
+ *
+ * @see LoginToContinue#savedRequestStore()
+ * @see LoginToContinue#savedRequestStoreParameters()
+ */
+public interface InMemorySavedRequestStore extends SavedRequestStore {
+
+}
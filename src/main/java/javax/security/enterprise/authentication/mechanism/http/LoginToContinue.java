@@ -58,7 +58,8 @@ import javax.interceptor.InterceptorBinding;
  * When the <code>LoginToContinue</code> annotation is used on a custom authentication mechanism, EL
  * expressions in attributes of type <code>String</code> are evaluated for every request requiring 
  * authentication. Both immediate and deferred syntax is supported, but effectively the semantics
- * are always deferred.
+ * are always deferred. Expressions are however only parsed once; see the description of the evaluation of
+ * expressions in the {@link javax.security.enterprise} package.
  * 
  * <p>
  * When the <code>LoginToContinue</code> annotation is used as attribute in either the 
@@ -112,5 +113,41 @@ public @interface LoginToContinue {
      */
     @Nonbinding
     String errorPage() default "/login-error";
+
+    /**
+     * A {@link SavedRequestStore} implementation used to keep the originally requested resource, and for
+     * requests with a body such as POST requests that body, while the caller is sent to the page set by
+     * {@link LoginToContinue#loginPage()}. After authentication, the saved request is restored.
+     * <p>
+     * If the store returns <code>false</code> when asked to save a request, the caller is still sent to the
+     * login page, and after authentication is redirected to the URL of the originally requested resource.
+     * <p>
+     * The default store keeps the request in the HTTP session, which means a session is created for every
+     * caller who is sent to the login page. The built-in {@link InMemorySavedRequestStore} and
+     * {@link CookieSavedRequestStore} do not use the HTTP session.
+     * 
+     * @return The store used to save the original request.
+     */
+    @Nonbinding
+    Class<? extends SavedRequestStore> savedRequestStore() default HttpSessionSavedRequestStore.class;
+
+    /**
+     * Used to specify store-specific parameters.
+     * <p>
+     * Parameters are specified as a list of name/value pairs, using the format below:
+     * <blockquote><pre>
+<i>parameterName=parameterValue</i>
+     * </pre></blockquote>
+     * <p>
+     * For example:
+     * <blockquote><pre>
+     * <i>InMemorySavedRequestStore.MaxRequests=1000</i>
+     * <i>SavedRequestStore.MaxBodySizeBytes=4194304</i>
+     * </pre></blockquote>
+     * 
+     * @return The store parameters.
+     */
+    @Nonbinding
+    String[] savedRequestStoreParameters() default {};
     
 }
@@ -0,0 +1,214 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://oss.oracle.com/licenses/CDDL+GPL-1.1
+ * or LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package javax.security.enterprise.authentication.mechanism.http;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.unmodifiableSet;
+
+import java.io.Serializable;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+import javax.security.enterprise.RoleMapper;
+
+/**
+ * <code>RegisteredIdentity</code> is an immutable snapshot of an authenticated identity, as registered
+ * with the runtime by {@link HttpMessageContext#setRegisterSession(RegisteredIdentity)} and re-applied
+ * for subsequent requests, for instance by the interceptor backing {@link AutoApplySession}.
+ * 
+ * <p>
+ * The snapshot holds the caller name, the caller's groups and optionally the caller's roles, as mapped
+ * by a {@link RoleMapper}. Group names are interned, and the snapshot is built such that re-applying it
+ * requires no further allocation. Its serialized form only contains the caller name, the group names,
+ * the role bits and the {@link RoleMapper#getRoleMappingFingerprint() fingerprint} of the mapper that
+ * produced them, which keeps it small when replicated along with the HTTP session.
+ * 
+ * <p>
+ * Role bits are only meaningful for the role mapping that produced them. A snapshot that is read back after
+ * a restart or redeployment, or on a server of a cluster that runs another version of the application, may
+ * meet a {@link RoleMapper} that assigns other indexes. The role bits of a snapshot are therefore only used
+ * when the fingerprint of the current mapper matches the fingerprint recorded in the snapshot. Otherwise they
+ * are dropped, and the roles are mapped again from the groups. A runtime re-applying a snapshot should call
+ * {@link #remap(RoleMapper)} once, after which each role check is a bit test against current role bits.
+ *
+ */
+public final class RegisteredIdentity implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String callerName;
+    private final String[] groups;
+    private final long[] roles;
+    private final String roleMappingFingerprint;
+
+    private final transient Set<String> groupSet;
+
+    /**
+     * Constructor for an identity without pre-mapped roles.
+     * 
+     * @param callerName the name of the authenticated caller
+     * @param groups the groups of the authenticated caller
+     * @throws NullPointerException if callerName is null
+     */
+    public RegisteredIdentity(String callerName, Set<String> groups) {
+        this(callerName, groups == null ? null : groups.toArray(new String[groups.size()]), null, null);
+    }
+
+    /**
+     * Constructor for an identity with roles, which are mapped from the given groups by the given mapper.
+     * 
+     * @param callerName the name of the authenticated caller
+     * @param groups the groups of the authenticated caller
+     * @param roleMapper the mapper used to map the groups to roles
+     * @throws NullPointerException if callerName or roleMapper is null
+     */
+    public RegisteredIdentity(String callerName, Set<String> groups, RoleMapper roleMapper) {
+        this(callerName,
+            groups == null ? null : groups.toArray(new String[groups.size()]),
+            roleMapper.mapGroupsToRoles(groups == null ? emptySet() : groups),
+            roleMapper.getRoleMappingFingerprint());
+    }
+
+    private RegisteredIdentity(String callerName, String[] groups, long[] roles, String roleMappingFingerprint) {
+        Objects.requireNonNull(callerName, "Caller name may not be null");
+
+        this.callerName = callerName;
+        this.groups = internGroups(groups);
+        this.roles = roles == null ? null : roles.clone();
+        this.roleMappingFingerprint = roleMappingFingerprint;
+        this.groupSet = this.groups.length == 0 ? emptySet() : unmodifiableSet(new HashSet<>(asList(this.groups)));
+    }
+
+    /**
+     * Returns the name of the authenticated caller.
+     * 
+     * @return the caller name
+     */
+    public String getCallerName() {
+        return callerName;
+    }
+
+    /**
+     * Returns the groups of the authenticated caller. The same unmodifiable {@link Set} is
+     * returned for every call.
+     * 
+     * @return the caller's groups, or an empty set if the caller is not in any group
+     */
+    public Set<String> getGroups() {
+        return groupSet;
+    }
+
+    /**
+     * Checks whether the roles of this identity were mapped by a mapper with the same fingerprint as the given one,
+     * and can therefore be used with it.
+     * 
+     * @param roleMapper the current role mapper
+     * @return <code>true</code> if this identity has roles that were mapped by an equivalent mapper,
+     * <code>false</code> otherwise
+     */
+    public boolean hasRolesFor(RoleMapper roleMapper) {
+        return roles != null && roleMappingFingerprint != null && roleMappingFingerprint.equals(roleMapper.getRoleMappingFingerprint());
+    }
+
+    /**
+     * Returns this identity if its roles can be used with the given mapper, or otherwise a new identity
+     * with the same caller name and groups, and with roles mapped again by the given mapper.
+     * 
+     * @param roleMapper the current role mapper
+     * @return an identity with roles that can be used with the given mapper
+     */
+    public RegisteredIdentity remap(RoleMapper roleMapper) {
+        if (hasRolesFor(roleMapper)) {
+            return this;
+        }
+
+        return new RegisteredIdentity(callerName, groups, roleMapper.mapGroupsToRoles(groupSet), roleMapper.getRoleMappingFingerprint());
+    }
+
+    /**
+     * Returns the roles of the authenticated caller for the given mapper. These are the roles held by this
+     * identity if they can be used with the given mapper, or otherwise the roles mapped again from the groups.
+     * 
+     * @param roleMapper the current role mapper
+     * @return a copy of the caller's roles, in the layout described by {@link RoleMapper}
+     */
+    public long[] getRoles(RoleMapper roleMapper) {
+        return hasRolesFor(roleMapper) ? roles.clone() : roleMapper.mapGroupsToRoles(groupSet);
+    }
+
+    /**
+     * Checks whether the role with the given index is set in the roles of the authenticated caller. If the roles
+     * held by this identity cannot be used with the given mapper, they are mapped again from the groups.
+     * 
+     * @param roleMapper the current role mapper
+     * @param roleIndex the index of the role, as returned by {@link RoleMapper#getRoleIndex(String)}
+     * @return <code>true</code> if the caller is in the role, <code>false</code> otherwise
+     */
+    public boolean isInRole(RoleMapper roleMapper, int roleIndex) {
+        return RoleMapper.isInRole(getRolesFor(roleMapper), roleIndex);
+    }
+
+    private long[] getRolesFor(RoleMapper roleMapper) {
+        return hasRolesFor(roleMapper) ? roles : roleMapper.mapGroupsToRoles(groupSet);
+    }
+
+    private Object readResolve() {
+        // Re-establishes the group set and the interned group names, which are not serialized.
+        // The role bits are kept along with their fingerprint, and are only used when it matches.
+        return new RegisteredIdentity(callerName, groups, roles, roleMappingFingerprint);
+    }
+
+    private static String[] internGroups(String[] groups) {
+        if (groups == null || groups.length == 0) {
+            return new String[0];
+        }
+
+        String[] internedGroups = new String[groups.length];
+        for (int i = 0; i < groups.length; i++) {
+            internedGroups[i] = Objects.requireNonNull(groups[i], "Group may not be null").intern();
+        }
+
+        return internedGroups;
+    }
+
+}
@@ -91,7 +91,8 @@ import javax.servlet.http.Cookie;
  * <p>
  * EL expressions in attributes of type <code>String</code> are evaluated for every request requiring 
  * authentication. Both immediate and deferred syntax is supported, but effectively the semantics
- * are always deferred.
+ * are always deferred. Expressions are however only parsed once; see the description of the evaluation of
+ * expressions in the {@link javax.security.enterprise} package.
  * 
  * <p>
  * <b>Note:</b> this facility <em>DOES NOT</em> constitute any kind of "session management" system, but instead
@@ -0,0 +1,114 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://oss.oracle.com/licenses/CDDL+GPL-1.1
+ * or LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package javax.security.enterprise.authentication.mechanism.http;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * <code>SavedRequest</code> represents a request that was saved by a {@link SavedRequestStore}
+ * before the caller was sent to the login page, so that it can be restored after authentication.
+ * 
+ * @see LoginToContinue
+ */
+public interface SavedRequest {
+
+    /**
+     * Returns the HTTP method of the saved request, e.g. GET or POST.
+     * 
+     * @return the HTTP method of the saved request
+     */
+    String getMethod();
+
+    /**
+     * Returns the URL of the saved request, without the query string.
+     * 
+     * @return the URL of the saved request
+     * 
+     * @see javax.servlet.http.HttpServletRequest#getRequestURL()
+     */
+    String getRequestURL();
+
+    /**
+     * Returns the query string of the saved request.
+     * 
+     * @return the query string of the saved request, or null if it did not have one
+     */
+    String getQueryString();
+
+    /**
+     * Returns the names of the headers of the saved request.
+     * 
+     * @return the names of the headers, or an empty set if no headers were saved
+     */
+    Set<String> getHeaderNames();
+
+    /**
+     * Returns the values of the given header of the saved request.
+     * 
+     * @param name the name of the header, which is case insensitive
+     * @return the values of the header, or an empty list if the saved request did not have the header
+     */
+    List<String> getHeaders(String name);
+
+    /**
+     * Returns the length in bytes of the body of the saved request.
+     * 
+     * @return the length of the body, or 0 if the saved request did not have a body
+     */
+    long getContentLength();
+
+    /**
+     * Opens a stream from which the body of the saved request can be read. Each call returns a new
+     * stream positioned at the start of the body.
+     * <p>
+     * The stream should read directly from where the body is stored, without first copying the body
+     * into another buffer. A {@link SavedRequestInputStream} can be used for bodies that are stored in,
+     * or mapped to, a {@link java.nio.ByteBuffer}.
+     * 
+     * @return a stream from which the body can be read, which is empty if the saved request did not have a body
+     * @throws IOException if the body can not be read from where it was stored
+     */
+    InputStream openBody() throws IOException;
+
+}
@@ -0,0 +1,148 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://oss.oracle.com/licenses/CDDL+GPL-1.1
+ * or LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package javax.security.enterprise.authentication.mechanism.http;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+
+/**
+ * This class is an implementation of <code>ServletInputStream</code> that reads the body of a
+ * {@link SavedRequest} directly from a {@link ByteBuffer}, such as a heap buffer or a memory mapped file,
+ * without copying it into an intermediate buffer.
+ * <p>
+ * It can be returned by {@link SavedRequest#openBody()}, and by the request that is restored from a saved request.
+ * As all data is available at once, the stream never blocks; a {@link ReadListener} that is set is immediately
+ * notified that data is available, and then, if it read all data, that all data has been read.
+ * <p>
+ * The position and limit of the given buffer are not modified by this stream.
+ *
+ */
+public class SavedRequestInputStream extends ServletInputStream {
+
+    private final ByteBuffer body;
+
+    /**
+     * Constructor
+     *
+     * @param body the buffer containing the body, from its position up to its limit
+     * @throws java.lang.NullPointerException Body is null
+     */
+    public SavedRequestInputStream(ByteBuffer body) {
+        Objects.requireNonNull(body, "Body may not be null");
+
+        this.body = body.duplicate();
+    }
+
+    @Override
+    public int read() {
+        if (!body.hasRemaining()) {
+            return -1;
+        }
+
+        return body.get() & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+        if (off < 0 || len < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (len == 0) {
+            return 0;
+        }
+        if (!body.hasRemaining()) {
+            return -1;
+        }
+
+        int count = Math.min(len, body.remaining());
+        body.get(b, off, count);
+
+        return count;
+    }
+
+    @Override
+    public long skip(long n) {
+        if (n <= 0) {
+            return 0;
+        }
+
+        int count = (int) Math.min(n, body.remaining());
+        body.position(body.position() + count);
+
+        return count;
+    }
+
+    @Override
+    public int available() {
+        return body.remaining();
+    }
+
+    @Override
+    public boolean isFinished() {
+        return !body.hasRemaining();
+    }
+
+    @Override
+    public boolean isReady() {
+        return true;
+    }
+
+    @Override
+    public void setReadListener(ReadListener readListener) {
+        Objects.requireNonNull(readListener, "Read listener may not be null");
+
+        try {
+            if (body.hasRemaining()) {
+                readListener.onDataAvailable();
+            }
+            if (!body.hasRemaining()) {
+                readListener.onAllDataRead();
+            }
+        } catch (IOException e) {
+            readListener.onError(e);
+        }
+    }
+
+}
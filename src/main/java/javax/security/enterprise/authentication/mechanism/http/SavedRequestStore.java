@@ -0,0 +1,138 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://oss.oracle.com/licenses/CDDL+GPL-1.1
+ * or LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package javax.security.enterprise.authentication.mechanism.http;
+
+import java.io.IOException;
+import java.util.Map;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * {@code SavedRequestStore} is an interface for objects that keep the original request of a caller
+ * while the caller is authenticating, on behalf of the interceptor backing {@link LoginToContinue}.
+ * <p>
+ * Implementations of {@code SavedRequestStore} are configured for this interceptor by configuring
+ * the type on the {@link LoginToContinue} annotation. Parameters for the {@code SavedRequestStore}
+ * can also be configured on the annotation, and will be passed to the {@link #initialize(Map)} method
+ * when the store is initialized.
+ * <p>
+ * A store decides by itself how a saved request is associated with the caller, for instance by means of
+ * the HTTP session or a cookie. Stores that do not use the HTTP session make it possible to redirect or
+ * forward anonymous callers to the login page without creating a session for each of them.
+ * <p>
+ * Request bodies should be kept in a way that limits their use of heap memory and disk space. The built-in stores
+ * must support the following configurable parameters for this, and other implementations are encouraged to:
+ * <blockquote><pre>
+SavedRequestStore.BodyMemoryThresholdBytes   // default 16384
+SavedRequestStore.MaxBodySizeBytes           // default 1048576
+SavedRequestStore.MaxTotalBodyMemoryBytes    // default 16777216
+SavedRequestStore.MaxTotalBodyBytes          // default 67108864
+ * </pre></blockquote>
+ * Bodies up to <code>BodyMemoryThresholdBytes</code> are kept on the heap. Larger bodies are written to a
+ * temporary file as they are read, which is deleted when the saved request is removed or expires. Requests with a
+ * body larger than <code>MaxBodySizeBytes</code> are not saved; this is checked against the content length of the
+ * request before reading the body, and, when the content length is not known, while reading it.
+ * <p>
+ * Since requests are saved for anonymous callers, the total size of the bodies kept by a store is bounded as well.
+ * <code>MaxTotalBodyMemoryBytes</code> bounds the bodies kept on the heap; a body that would exceed it is written
+ * to a temporary file instead, regardless of <code>BodyMemoryThresholdBytes</code>. <code>MaxTotalBodyBytes</code>
+ * bounds all bodies kept by the store, on the heap and on disk together. A request of which the body would exceed
+ * it is not saved, as for a body larger than <code>MaxBodySizeBytes</code>; requests saved earlier are not evicted
+ * to make room for it. The space of a body is released when its saved request is removed or expires.
+ * <p>
+ * How a body kept in a temporary file is read back is up to the implementation. It may for instance be read
+ * through a {@link java.nio.channels.FileChannel}, or from a memory mapping of the file. Note that a memory mapping
+ * can not be released deterministically, and that on some platforms a file can not be deleted while it is mapped;
+ * an implementation using memory mappings must still release the disk space of a removed or expired body.
+ * <p>
+ * Implementations must be thread-safe.
+ *
+ * @see LoginToContinue#savedRequestStore()
+ * @see LoginToContinue#savedRequestStoreParameters()
+ */
+public interface SavedRequestStore {
+
+    /**
+     * Initialize the instance with the parameters it should use. The parameters are the
+     * name/value pairs specified with the {@link LoginToContinue#savedRequestStoreParameters()}
+     * attribute.
+     * <p>
+     * An implementation is not required to support parameters, and may ignore parameters passed to it.
+     * <p>
+     * If no parameters were supplied, the argument is an empty {@link Map}.
+     *
+     * @param parameters A {@link Map} of the provided parameters, empty if no parameters were supplied.
+     */
+    default void initialize(Map<String, String> parameters) {
+    }
+
+    /**
+     * Saves the given request, replacing any request saved before for the same caller.
+     * <p>
+     * If the request has a body, the body must be read from the request's input stream and
+     * written to the store's storage as it is read, without first reading the entire body into memory.
+     * 
+     * @param request the request to save
+     * @param response the response to the request, which can be used to, for instance, set a cookie
+     * @return <code>true</code> if the request was saved, <code>false</code> if this store can not save
+     * the request, for instance because it is too large.
+     * @throws IOException if the request could not be read or saved
+     */
+    boolean save(HttpServletRequest request, HttpServletResponse response) throws IOException;
+
+    /**
+     * Returns the request saved for the caller making the given request.
+     * 
+     * @param request the current request of the caller
+     * @return the saved request, or null if no request was saved for the caller, or it expired.
+     */
+    SavedRequest get(HttpServletRequest request);
+
+    /**
+     * Removes the request saved for the caller making the given request, if any.
+     * 
+     * @param request the current request of the caller
+     * @param response the response to the current request, which can be used to, for instance, remove a cookie
+     */
+    void remove(HttpServletRequest request, HttpServletResponse response);
+
+}
@@ -0,0 +1,129 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://oss.oracle.com/licenses/CDDL+GPL-1.1
+ * or LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package javax.security.enterprise.authentication.mechanism.http;
+
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import javax.security.enterprise.SecurityContext;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * The SkipAnonymousPublicRequests annotation provides an application the ability to declaratively designate
+ * that an authentication mechanism has nothing to do for requests to public resources that carry no credential,
+ * so that the runtime does not need to invoke it, or any interceptor around it, for such requests.
+ * 
+ * <p>
+ * By default {@link HttpAuthenticationMechanism#validateRequest(HttpServletRequest, HttpServletResponse, HttpMessageContext)}
+ * is called for every request. When the authentication mechanism is annotated with this annotation, the runtime
+ * must instead behave as if that method returned {@link javax.security.enterprise.AuthenticationStatus#NOT_DONE NOT_DONE}
+ * for a request when all of the following are true:
+ * 
+ * <ul>
+ * <li>Authentication is not mandatory for the request, i.e. the request is not to a protected resource
+ * ({@link HttpMessageContext#isProtected()} would return false), and the runtime has not otherwise marked
+ * authentication as mandatory for the request, as JASPIC does for a call to {@link HttpServletRequest#authenticate(HttpServletResponse)}.</li>
+ * <li>Authentication was not explicitly requested, i.e. {@link HttpMessageContext#isAuthenticationRequest()} would
+ * return false, and the request is not the result of a call to
+ * {@link SecurityContext#authenticate(HttpServletRequest, HttpServletResponse, AuthenticationParameters)},
+ * {@link HttpServletRequest#authenticate(HttpServletResponse)} or {@link HttpServletRequest#login(String, String)}.</li>
+ * <li>The request is not to one of the paths given by {@link #paths()}.</li>
+ * <li>The request does not have any of the headers given by {@link #credentialHeaders()}.</li>
+ * <li>The request does not have any of the cookies given by {@link #credentialCookies()}, nor, if the authentication
+ * mechanism is annotated with {@link RememberMe}, the remember me cookie.</li>
+ * <li>If the authentication mechanism is annotated with {@link AutoApplySession}, no identity has been registered for
+ * the caller.</li>
+ * </ul>
+ * 
+ * <p>
+ * Runtimes are expected to determine whether a request is to a protected resource using the security constraints
+ * compiled at deployment time, so that the above can be decided with a few lookups and without creating any
+ * per-request objects for the authentication mechanism.
+ * 
+ * <p>
+ * Example:
+ * 
+ * <pre>
+ * <code>
+ *     {@literal @}ApplicationScoped
+ *     {@literal @}SkipAnonymousPublicRequests(credentialHeaders = "X-API-Key")
+ *     public class CustomAuthenticationMechanism implements HttpAuthenticationMechanism {
+ *         // ...
+ *     }
+ * </code>
+ * </pre>
+ *
+ */
+@Inherited
+@Retention(RUNTIME)
+@Target(TYPE)
+public @interface SkipAnonymousPublicRequests {
+
+    /**
+     * Names of the request headers that carry a credential for the authentication mechanism. A request with
+     * any of these headers is always passed to the authentication mechanism.
+     * 
+     * @return the names of the headers that carry a credential
+     */
+    String[] credentialHeaders() default { "Authorization" };
+
+    /**
+     * Names of the cookies that carry a credential for the authentication mechanism. A request with any of
+     * these cookies is always passed to the authentication mechanism.
+     * 
+     * @return the names of the cookies that carry a credential
+     */
+    String[] credentialCookies() default {};
+
+    /**
+     * Paths, relative to the context root of the application, of resources for which requests are always
+     * passed to the authentication mechanism, such as the path to which a login form posts credentials.
+     * 
+     * @return the paths for which requests are always passed to the authentication mechanism
+     */
+    String[] paths() default {};
+
+}
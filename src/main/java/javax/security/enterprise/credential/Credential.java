@@ -42,8 +42,19 @@ package javax.security.enterprise.credential;
 
 /**
  * <code>Credential</code> represents the credential the caller will use to authenticate.
+ * <p>
+ * A credential is {@link AutoCloseable}, where closing it clears it. This allows code that creates a
+ * credential to limit the time its value is kept in memory to the scope in which it is used:
+ * <blockquote><pre>{@code
+try (UsernamePasswordCredential credential = new UsernamePasswordCredential(name, password)) {
+    return httpMessageContext.notifyContainerAboutLogin(identityStoreHandler.validate(credential));
+}
+ * }</pre></blockquote>
+ * A credential passed to an asynchronous operation, such as
+ * {@link javax.security.enterprise.identitystore.IdentityStoreHandler#validate(Credential, java.util.concurrent.Executor)},
+ * must instead be cleared when that operation completes.
  */
-public interface Credential {
+public interface Credential extends AutoCloseable {
 
     /**
      * Determines whether the credential value has been securely cleared.
@@ -58,6 +69,14 @@ public interface Credential {
      * this method would overwrite the password value.
      */
     default void clear() {}
+
+    /**
+     * Closes the credential, which clears it. This is equivalent to calling {@link #clear()}.
+     */
+    @Override
+    default void close() {
+        clear();
+    }
     
     /**
      * Determines whether the credential is valid. This would be called as part of
@@ -0,0 +1,185 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://oss.oracle.com/licenses/CDDL+GPL-1.1
+ * or LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package javax.security.enterprise.credential;
+
+import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.security.enterprise.identitystore.PasswordHash;
+
+/**
+ * Represents a text-based password of which the value is kept outside of the heap, in
+ * a direct {@link ByteBuffer}.
+ * <p>
+ * Contrary to a heap array, the memory holding the value is never moved or copied by the
+ * garbage collector, does not show up in heap dumps, and is deterministically overwritten
+ * by {@link #clear()}. When an instance becomes unreachable without having been cleared,
+ * its value is overwritten when the next instance is created.
+ * <p>
+ * The value can be read without copying it to the heap through {@link #asCharBuffer()}.
+ * Any code that needs the value as a <code>char[]</code> copies it to the heap, and the
+ * above guarantees then no longer hold for that copy:
+ * <ul>
+ * <li>{@link #getValue()} returns a new copy on every call, which {@link #clear()} does not
+ * reach. Contrary to a plain {@link Password}, of which {@link #getValue()} returns the array
+ * that {@link #clear()} overwrites, the caller must clear that copy itself after use, or it
+ * remains on the heap until it is garbage collected.</li>
+ * <li>The default implementation of {@link PasswordHash#verify(Password, String)} copies the
+ * value to a temporary array, which it clears after use. The built-in password hashes, such as
+ * {@link javax.security.enterprise.identitystore.Pbkdf2PasswordHash Pbkdf2PasswordHash}, need the
+ * password as a <code>char[]</code> (e.g. for a {@link javax.crypto.spec.PBEKeySpec}), and
+ * therefore do so as well.</li>
+ * </ul>
+ * Code verifying a <code>DirectPassword</code> should therefore call
+ * {@link PasswordHash#verify(Password, String)} rather than passing {@link #getValue()} to
+ * {@link PasswordHash#verify(char[], String)}.
+ */
+public class DirectPassword extends Password {
+
+    private static final CharBuffer EMPTY_VALUE = CharBuffer.allocate(0).asReadOnlyBuffer();
+
+    private static final ReferenceQueue<DirectPassword> UNREACHABLE = new ReferenceQueue<>();
+    private static final Set<Wiper> WIPERS = ConcurrentHashMap.newKeySet();
+
+    private final Wiper wiper;
+    private volatile CharBuffer value;
+
+    /**
+     * Constructor
+     *
+     * @param value The password value
+     * @throws java.lang.NullPointerException Value is null
+     */
+    public DirectPassword(char[] value) {
+        this(CharBuffer.wrap(Objects.requireNonNull(value, "Password value may not be null")));
+    }
+
+    /**
+     * Constructor
+     *
+     * @param value The password value
+     * @throws java.lang.NullPointerException Value is null
+     */
+    public DirectPassword(CharSequence value) {
+        Objects.requireNonNull(value, "Password value may not be null");
+
+        wipeUnreachable();
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(value.length() * Character.BYTES);
+        CharBuffer directValue = buffer.asCharBuffer();
+        for (int i = 0; i < value.length(); i++) {
+            directValue.put(i, value.charAt(i));
+        }
+
+        this.value = directValue.asReadOnlyBuffer();
+        this.wiper = new Wiper(this, buffer);
+        WIPERS.add(wiper);
+    }
+
+    /**
+     * Determines the password value. As the value is not kept on the heap, this returns a new copy
+     * of the value on every call, which the caller should clear after use.
+     *
+     * @return A copy of the password value, empty array if cleared.
+     */
+    @Override
+    public char[] getValue() {
+        CharBuffer currentValue = value.duplicate();
+        char[] copy = new char[currentValue.remaining()];
+        currentValue.get(copy);
+
+        return copy;
+    }
+
+    @Override
+    public CharBuffer asCharBuffer() {
+        return value.duplicate();
+    }
+
+    /**
+     * Securely clears the password value, by overwriting the memory holding it.
+     */
+    @Override
+    public void clear() {
+        if (EMPTY_VALUE == value) {
+            return;
+        }
+
+        value = EMPTY_VALUE;
+        wiper.wipe();
+    }
+
+    private static void wipeUnreachable() {
+        Reference<? extends DirectPassword> reference;
+        while ((reference = UNREACHABLE.poll()) != null) {
+            ((Wiper) reference).wipe();
+        }
+    }
+
+    /**
+     * Overwrites the memory of a password, when it is cleared or when it has become unreachable.
+     * It keeps the buffer reachable until then.
+     */
+    private static final class Wiper extends PhantomReference<DirectPassword> {
+
+        private final ByteBuffer buffer;
+
+        Wiper(DirectPassword password, ByteBuffer buffer) {
+            super(password, UNREACHABLE);
+            this.buffer = buffer;
+        }
+
+        void wipe() {
+            if (WIPERS.remove(this)) {
+                for (int i = 0; i < buffer.capacity(); i++) {
+                    buffer.put(i, (byte) 0x00);
+                }
+            }
+        }
+    }
+
+}
@@ -41,18 +41,21 @@
 package javax.security.enterprise.credential;
 
 import static java.util.Arrays.copyOf;
-import java.util.Objects;
 
-import java.util.Arrays;
+import java.nio.CharBuffer;
+import java.util.Objects;
 
 /**
  * Represents a text-based password, and includes a built-in mechanism for securely
  * clearing the value.
+ * <p>
+ * A password is {@link AutoCloseable}, where closing it clears it.
  */
-public class Password {
+public class Password implements AutoCloseable {
 
     private static final char[] EMPTY_VALUE = new char[0];
     private volatile char[] value;
+    private final boolean heapValue;
 
     /**
      * Constructor
@@ -64,6 +67,7 @@ public class Password {
         Objects.requireNonNull(value, "Password value may not be null");
 
         this.value = copyOf(value, value.length);
+        this.heapValue = true;
     }
 
     /**
@@ -76,8 +80,23 @@ public class Password {
         this(null == value ? null : value.toCharArray());
     }
 
+    /**
+     * Constructor for subclasses that keep the password value elsewhere than
+     * in the heap array held by this class. Such subclasses must override
+     * {@link #getValue()}, {@link #asCharBuffer()} and {@link #clear()}; the
+     * other methods of this class are implemented in terms of these.
+     */
+    protected Password() {
+        this.value = EMPTY_VALUE;
+        this.heapValue = false;
+    }
+
     /**
      * Determines the password value.
+     * <p>
+     * The returned array is the one holding the value, which is overwritten by {@link #clear()}. Subclasses
+     * that keep the value elsewhere, such as {@link DirectPassword}, return a copy instead, which
+     * {@link #clear()} does not reach.
      *
      * @return The password value, empty array if cleared.
      */
@@ -85,6 +104,16 @@ public class Password {
         return value;
     }
 
+    /**
+     * Returns a read-only view of the password value. Contrary to {@link #getValue()},
+     * this does not require the value to be on the heap, and never copies it.
+     *
+     * @return A read-only view of the password value, empty if cleared.
+     */
+    public CharBuffer asCharBuffer() {
+        return CharBuffer.wrap(value).asReadOnlyBuffer();
+    }
+
     /**
      * Securely clears the password value.
      */
@@ -100,11 +129,117 @@ public class Password {
         }
     }
     
+    /**
+     * Closes the password, which securely clears the password value. This is equivalent to calling {@link #clear()}.
+     */
+    @Override
+    public void close() {
+        clear();
+    }
+
+    /**
+     * Compares the given password with the password value.
+     * <p>
+     * The comparison does not create copies of either password, and takes a time that only depends on the length of
+     * the given password, not on the position of the first character that differs.
+     *
+     * @param password The password to compare with
+     * @return <code>true</code> if the given password equals the password value, <code>false</code> otherwise
+     * or if the given password is null.
+     * @see #compareToSequence(CharSequence)
+     * @see #compareToChars(char[])
+     */
     public boolean compareTo(String password) {
-    	if (password == null) {
-    		return false;
-    	}
-    	
-    	return Arrays.equals(password.toCharArray(), value);
+        return compareToSequence(password);
+    }
+
+    /**
+     * Compares the given password with the password value.
+     * <p>
+     * The comparison does not create copies of either password, and takes a time that only depends on the length of
+     * the given password, not on the position of the first character that differs.
+     *
+     * @param password The password to compare with
+     * @return <code>true</code> if the given password equals the password value, <code>false</code> otherwise
+     * or if the given password is null.
+     */
+    public boolean compareToSequence(CharSequence password) {
+        if (password == null) {
+            return false;
+        }
+
+        if (heapValue) {
+            return equalsInConstantTime(value, password);
+        }
+
+        return equalsInConstantTime(asCharBuffer(), password);
+    }
+
+    /**
+     * Compares the given password with the password value.
+     * <p>
+     * The comparison does not create copies of either password, and takes a time that only depends on the length of
+     * the given password, not on the position of the first character that differs.
+     *
+     * @param password The password to compare with
+     * @return <code>true</code> if the given password equals the password value, <code>false</code> otherwise
+     * or if the given password is null.
+     */
+    public boolean compareToChars(char[] password) {
+        if (password == null) {
+            return false;
+        }
+
+        if (heapValue) {
+            return equalsInConstantTime(value, password);
+        }
+
+        return equalsInConstantTime(asCharBuffer(), CharBuffer.wrap(password));
+    }
+
+    // The comparisons below visit every character of the given password, also when the value is shorter
+    // or a difference was already found, so their time does not reveal where the passwords differ.
+
+    private static boolean equalsInConstantTime(char[] value, char[] password) {
+        if (value.length == 0) {
+            return password.length == 0;
+        }
+
+        int difference = value.length ^ password.length;
+        for (int i = 0; i < password.length; i++) {
+            difference |= password[i] ^ value[i % value.length];
+        }
+
+        return difference == 0;
+    }
+
+    private static boolean equalsInConstantTime(char[] value, CharSequence password) {
+        int length = password.length();
+        if (value.length == 0) {
+            return length == 0;
+        }
+
+        int difference = value.length ^ length;
+        for (int i = 0; i < length; i++) {
+            difference |= password.charAt(i) ^ value[i % value.length];
+        }
+
+        return difference == 0;
+    }
+
+    private static boolean equalsInConstantTime(CharBuffer value, CharSequence password) {
+        int length = password.length();
+        int offset = value.position();
+        int valueLength = value.remaining();
+        if (valueLength == 0) {
+            return length == 0;
+        }
+
+        int difference = valueLength ^ length;
+        for (int i = 0; i < length; i++) {
+            difference |= password.charAt(i) ^ value.get(offset + i % valueLength);
+        }
+
+        return difference == 0;
     }
 }
@@ -95,8 +95,17 @@ public class UsernamePasswordCredential extends AbstractClearableCredential {
         return caller;
     }
     
+    /**
+     * Compares the given caller name and password with those of this credential.
+     * <p>
+     * The password is always compared, also when the caller name differs, using {@link Password#compareTo(String)}.
+     * 
+     * @param callerName The caller name to compare with
+     * @param password The password to compare with
+     * @return <code>true</code> if both the caller name and the password are equal, <code>false</code> otherwise.
+     */
     public boolean compareTo(String callerName, String password) {
-        return getCaller().equals(callerName) && getPassword().compareTo(password);
+        return getCaller().equals(callerName) & getPassword().compareTo(password);
     }
 
 }
@@ -55,6 +55,9 @@ import javax.security.enterprise.credential.Credential;
 /**
  * <code>CredentialValidationResult</code> is the result from an attempt to
  * validate an instance of {@link Credential}.
+ * <p>
+ * Instances are immutable and can safely be shared between threads, for instance between
+ * concurrent validations that an {@link IdentityStoreHandler} coalesced into one.
  *
  * @see IdentityStore#validate
  */
@@ -57,6 +57,11 @@ import static javax.security.enterprise.identitystore.IdentityStore.ValidationTy
  * <p>
  * The container-provided {@code IdentityStore} must support validating {@link UsernamePasswordCredential},
  * and may support validating other credential types.
+ * <p>
+ * The queries configured on this annotation are fixed for the lifetime of the store (deferred EL
+ * expressions aside), so implementations should prepare each of them at most once per pooled
+ * connection and reuse the resulting statement, for instance by enabling the statement cache of
+ * the data source, rather than preparing it anew for every credential validation.
  */
 @Retention(RUNTIME)
 @Target(TYPE)
@@ -117,6 +122,120 @@ public @interface DatabaseIdentityStoreDefinition {
      */
     String groupsQuery() default "";
 
+    /**
+     * SQL query to validate the {caller, password} pair and to retrieve the
+     * groups associated with the caller, using a single query.
+     *
+     * Only used when {@link #useFor()} contains both
+     * {@link ValidationType#VALIDATE} and {@link ValidationType#PROVIDE_GROUPS}.
+     * If set in that case, it is used instead of {@link #callerQuery()} and
+     * {@link #groupsQuery()}, which saves one round-trip to the database
+     * for every credential validation. Validations using this query are not
+     * subject to {@link #groupsBatchWindow()}; group lookups by
+     * {@link IdentityStore#getCallerGroups(CredentialValidationResult)} still are.
+     *
+     * <p>
+     * The name of the caller that is to be authenticated has to be set as the
+     * one and only placeholder. The (hashed) password should be in the first
+     * column of the result, and a group name in the second column. The result
+     * contains one row per group the caller is in, with the same password in each
+     * row, or a single row with a <code>null</code> group name if the caller is
+     * not in any group.
+     *
+     * <p>
+     * The rows are processed as they are read from the result; when the password
+     * does not match, the remaining rows are not read at all.
+     *
+     * <p>
+     * Example query:
+     * <pre>
+     * <code>
+     * select c.password, g.group_name from callers c
+     *   left join caller_groups g on g.caller_name = c.name
+     *   where c.name = ?
+     * </code>
+     * </pre>
+     *
+     * @return SQL query to validate and retrieve the groups
+     */
+    String callerAndGroupsQuery() default "";
+
+    /**
+     * SQL query to retrieve the groups associated with several callers at once.
+     *
+     * Only used when {@link #useFor()} contains
+     * {@link ValidationType#PROVIDE_GROUPS} and {@link #groupsBatchWindow()}
+     * is larger than 0.
+     *
+     * <p>
+     * The query has to contain one and only one placeholder, enclosed in
+     * an <code>IN</code> list. Before executing, the runtime replaces this placeholder
+     * by as many placeholders as there are callers in the batch, and sets the names
+     * of those callers on them. The caller name should be in the first column of the
+     * result and the group name in the second column.
+     *
+     * <p>
+     * Example query:
+     * <pre>
+     * <code>
+     * select caller_name, group_name from caller_groups where caller_name in (?)
+     * </code>
+     * </pre>
+     *
+     * @return SQL query to retrieve the groups of several callers
+     */
+    String groupsBatchQuery() default "";
+
+    /**
+     * The time in milliseconds during which concurrent group lookups are collected
+     * into a single execution of {@link #groupsBatchQuery()}.
+     * <p>
+     * The first group lookup that arrives starts the window. Lookups arriving during
+     * the window wait for it to close, after which one query is executed for all of
+     * them and each waiting lookup gets back the groups of its own caller. The window
+     * closes early when {@link #groupsBatchMaxSize()} lookups have been collected.
+     * <p>
+     * The default value of 0 disables batching; {@link #groupsQuery()} is then
+     * executed for every lookup. A value larger than 0 requires {@link #groupsBatchQuery()}
+     * to be set; if it is empty, the deployment must fail.
+     * <p>
+     * Batching applies to every group lookup performed by the store: those for
+     * {@link IdentityStore#getCallerGroups(CredentialValidationResult)}, as well as
+     * the one performed by {@link IdentityStore#validate(javax.security.enterprise.credential.Credential)}
+     * after a successful validation when {@link #useFor()} contains both
+     * {@link ValidationType#VALIDATE} and {@link ValidationType#PROVIDE_GROUPS}.
+     * The only exception is a validation for which {@link #callerAndGroupsQuery()} is used,
+     * which retrieves the groups along with the password and therefore performs
+     * no separate group lookup.
+     *
+     * @return The batch window in milliseconds
+     */
+    int groupsBatchWindow() default 0;
+
+    /**
+     * Allow groupsBatchWindow to be specified as an EL expression.
+     * If set, overrides any value set with groupsBatchWindow.
+     *
+     * @return the groupsBatchWindow EL expression
+     */
+    String groupsBatchWindowExpression() default "";
+
+    /**
+     * The maximum number of callers for which groups are retrieved with a single
+     * execution of {@link #groupsBatchQuery()}.
+     *
+     * @return The maximum number of callers in a batch
+     */
+    int groupsBatchMaxSize() default 100;
+
+    /**
+     * Allow groupsBatchMaxSize to be specified as an EL expression.
+     * If set, overrides any value set with groupsBatchMaxSize.
+     *
+     * @return the groupsBatchMaxSize EL expression
+     */
+    String groupsBatchMaxSizeExpression() default "";
+
     /**
      * A {@link PasswordHash} implementation used to verify plaintext passwords
      * by generating a hash of the password and comparing it against the hashed
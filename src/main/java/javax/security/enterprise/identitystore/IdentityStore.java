@@ -40,14 +40,13 @@
 
 package javax.security.enterprise.identitystore;
 
-import static java.lang.invoke.MethodType.methodType;
 import static java.util.Collections.emptySet;
-import static javax.security.enterprise.identitystore.CredentialValidationResult.NOT_VALIDATED_RESULT;
 import static javax.security.enterprise.identitystore.IdentityStore.ValidationType.PROVIDE_GROUPS;
 import static javax.security.enterprise.identitystore.IdentityStore.ValidationType.VALIDATE;
 
-import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
 import java.util.EnumSet;
+import java.util.List;
 import java.util.Set;
 
 import javax.security.auth.message.module.ServerAuthModule;
@@ -65,6 +64,15 @@ import javax.security.enterprise.credential.Credential;
  * <p>
  * An <code>IdentityStore</code> obtains identity data from a persistent store,
  * such as a database, LDAP server, or file.
+ * <p>
+ * The methods of an <code>IdentityStore</code> may be called concurrently from any thread, including
+ * virtual threads on a Java platform that supports them (see
+ * {@link IdentityStoreHandler#validate(Credential, java.util.concurrent.Executor)}). Implementations
+ * should therefore not block on I/O, such as a call to a database or LDAP server, while holding a monitor
+ * (i.e., inside a <code>synchronized</code> block or method), as that prevents a virtual thread from releasing
+ * its carrier thread. A {@link java.util.concurrent.locks.ReentrantLock} should be used instead. The
+ * container-provided stores defined by {@link DatabaseIdentityStoreDefinition} and
+ * {@link LdapIdentityStoreDefinition} must adhere to this.
  */
 public interface IdentityStore {
     
@@ -90,9 +98,14 @@ public class ExampleIdentityStore implements IdentityStore {
 }
      * }</pre></blockquote>
      * <p>
-     * Note that the overloaded method is only called when the actual type passed into this method will <i>exactly</i> match
-     * the parameter type of the overloaded method. There's no attempt being done to find the most specific overloaded method
-     * such as specified in JLS 15.2.
+     * The overloaded method that is called is the one of which the parameter type is the most specific superclass of
+     * (or the same class as) the actual type passed into this method. For instance, a {@code BasicAuthenticationCredential}
+     * is passed to the above overload, as {@code BasicAuthenticationCredential} extends {@code UsernamePasswordCredential}.
+     * Interfaces implemented by the actual type are not taken into account. The overloaded method is looked up only once
+     * for each combination of {@code IdentityStore} implementation and credential class, so that there's no reflection
+     * involved in calling it, unless the credential class is not visible from the class loader of the
+     * {@code IdentityStore} implementation. The result of such a lookup is not kept, so that the store does not prevent
+     * the credential class, e.g. one of a redeployed application, from being unloaded.
      * <p>
      * This method returns a {@link CredentialValidationResult} representing the result of the validation attempt:
      * whether it succeeded or failed, and, for a successful validation, the {@link CallerPrincipal}, and possibly
@@ -103,12 +116,8 @@ public class ExampleIdentityStore implements IdentityStore {
      */
     default CredentialValidationResult validate(Credential credential) {
         try {
-        	    return CredentialValidationResult.class.cast(
-                    MethodHandles.lookup()
-                                 .bind(this, "validate", methodType(CredentialValidationResult.class, credential.getClass()))
-                                 .invoke(credential));
-        } catch (NoSuchMethodException e) {
-            return NOT_VALIDATED_RESULT;
+            return (CredentialValidationResult) ValidateMethodRegistry.getValidateMethod(getClass(), credential.getClass())
+                                                                      .invokeExact(this, credential);
 		} catch (Throwable e) {
 			throw new IllegalStateException(e);
 		}
@@ -137,6 +146,52 @@ if (security != null) {
     	    return emptySet();
     }
 
+    /**
+     * Validates the given credentials.
+     * <p>
+     * This is equivalent to calling {@link #validate(Credential)} for each of the credentials, which is what
+     * the default implementation does. Stores that can validate several credentials with a single request
+     * to their persistent store, such as a single query or pipelined requests, are encouraged to override
+     * this method.
+     *
+     * @param credentials The credentials to validate.
+     * @return The validation results, where the result at each position is the result for the
+     * credential at the same position in {@code credentials}.
+     */
+    default List<CredentialValidationResult> validateAll(List<? extends Credential> credentials) {
+        List<CredentialValidationResult> validationResults = new ArrayList<>(credentials.size());
+        for (Credential credential : credentials) {
+            validationResults.add(validate(credential));
+        }
+
+        return validationResults;
+    }
+
+    /**
+     * Returns groups for each of the callers identified by the given validation results.
+     * <p>
+     * This is equivalent to calling {@link #getCallerGroups(CredentialValidationResult)} for each of the
+     * validation results, which is what the default implementation does. Stores that can retrieve the groups
+     * of several callers with a single request to their persistent store are encouraged to override this method.
+     * <p>
+     * Callers should have {@link IdentityStorePermission} permission to invoke this method, in the same
+     * way as for {@link #getCallerGroups(CredentialValidationResult)}.
+     *
+     * @param validationResults The {@link CredentialValidationResult}s returned by previous calls to
+     * {@link #validate(Credential)} or {@link #validateAll(List)}.
+     * @return The groups for each caller, where the {@link Set} at each position holds the groups of the
+     * caller identified by the validation result at the same position in {@code validationResults}.
+     * @throws SecurityException May be thrown if the calling code does not have {@link IdentityStorePermission}.
+     */
+    default List<Set<String>> getCallerGroupsAll(List<CredentialValidationResult> validationResults) {
+        List<Set<String>> callerGroups = new ArrayList<>(validationResults.size());
+        for (CredentialValidationResult validationResult : validationResults) {
+            callerGroups.add(getCallerGroups(validationResult));
+        }
+
+        return callerGroups;
+    }
+
     /**
      * Determines the order of invocation for multiple {@link IdentityStore}s.
      * Stores with a lower priority value are consulted first.
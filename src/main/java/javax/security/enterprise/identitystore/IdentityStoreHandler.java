@@ -40,6 +40,12 @@
 
 package javax.security.enterprise.identitystore;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+
 import javax.security.auth.message.module.ServerAuthModule;
 import javax.security.enterprise.authentication.mechanism.http.HttpAuthenticationMechanism;
 import javax.security.enterprise.credential.Credential;
@@ -77,9 +83,109 @@ public interface IdentityStoreHandler {
      * may or may not.) An implementation of this method should therefore invoke
      * {@code getCallerGroups()} in the context of a {@link java.security.PrivilegedAction},
      * and arrange to be granted the appropriate {@link IdentityStorePermission} permission.
+     * <p>
+     * The credential remains owned by the caller of this method, and is not cleared by it. Callers should
+     * clear the credential as soon as this method returns, for instance by validating it in a
+     * try-with-resources statement (see {@link Credential}). The container-provided authentication mechanisms
+     * must clear the credentials they create in this way. This does not apply to
+     * {@link #validate(Credential, Executor)}, which returns before the credential is used.
+     * <p>
+     * Implementations may coalesce concurrent invocations of this method for identical credentials:
+     * an invocation that arrives while the validation of an identical credential is still in progress
+     * may wait for that validation and return the same {@link CredentialValidationResult}, instead of
+     * consulting the {@link IdentityStore}s again. Credentials are identical when they are of the same
+     * type and all their values, including secret values such as passwords, are equal. An implementation
+     * that does this must:
+     * <ul>
+     * <li>identify in-progress validations by a keyed cryptographic digest of the credential values, such as
+     * an HMAC-SHA-256 with a random key generated when the handler is created and never stored or shared, and
+     * never retain the credential or its secret values for this purpose. An unkeyed digest, such as a plain
+     * SHA-256 of a password, must not be used, as it can be cracked offline if it is obtained from a heap dump;
+     * <li>stop sharing a result as soon as the validation that produced it has completed, so that a
+     * result is never returned to an invocation that started after that point;
+     * <li>not coalesce credentials of types for which it does not know how to compute such a digest.
+     * </ul>
+     * <p>
+     * Implementations may also protect the validation of a credential against {@link IdentityStore}s
+     * that are slow or failing, so that such a store does not prevent other stores from being consulted:
+     * <ul>
+     * <li>Each call to a store may be given a time budget. A call that does not complete within its
+     * budget is abandoned.
+     * <li>Each store may be guarded by a circuit breaker. While the circuit is <em>closed</em> the store
+     * is called as normal. When the share of calls that failed or were abandoned within a recent window
+     * exceeds a threshold, the circuit <em>opens</em> and the store is not called at all. After a cool-down
+     * period the circuit becomes <em>half-open</em>, and a limited number of calls is let through; the
+     * circuit closes again if these succeed, and opens again otherwise.
+     * </ul>
+     * A store call that is abandoned, or skipped because the circuit is open, counts as if the store
+     * returned {@link CredentialValidationResult#NOT_VALIDATED_RESULT} from {@code validate()}, or
+     * no groups from {@code getCallerGroups()}, and the next store in order of priority is consulted.
+     * Such an implementation should make the circuit state of each store available to monitoring tools,
+     * and document how the budgets and thresholds are configured.
      *
      * @param credential The credential to validate.
      * @return The validation result.
      */
     CredentialValidationResult validate(Credential credential);
+
+    /**
+     * Validate the given {@link Credential}s and return the identity and attributes
+     * of the callers they represent.
+     * <p>
+     * This is equivalent to calling {@link #validate(Credential)} for each of the credentials, which is what
+     * the default implementation does. Implementations are encouraged to override this method, and use
+     * {@link IdentityStore#validateAll(List)} and {@link IdentityStore#getCallerGroupsAll(List)} to consult
+     * each {@link IdentityStore} once for all credentials.
+     *
+     * @param credentials The credentials to validate.
+     * @return The validation results, where the result at each position is the result for the
+     * credential at the same position in {@code credentials}.
+     */
+    default List<CredentialValidationResult> validateAll(List<? extends Credential> credentials) {
+        List<CredentialValidationResult> validationResults = new ArrayList<>(credentials.size());
+        for (Credential credential : credentials) {
+            validationResults.add(validate(credential));
+        }
+
+        return validationResults;
+    }
+
+    /**
+     * Validate the given {@link Credential} asynchronously, using the given {@link Executor} to run the
+     * blocking calls to {@link IdentityStore}s.
+     * <p>
+     * The outcome is the same as that of {@link #validate(Credential)}. This method allows a caller to run the
+     * validation on threads that are cheap to block, such as virtual threads on a Java platform that supports them,
+     * instead of blocking a thread from a bounded pool for every concurrent validation. An implementation may
+     * also use the executor to call several stores, or a store and its time budget, concurrently.
+     * <p>
+     * The default implementation runs {@link #validate(Credential)} as a single task on the executor.
+     * <p>
+     * The stores are called on the threads of the executor, not on the calling thread, while they typically depend
+     * on the Java EE context of the calling component: the built-in database store for instance looks up its data
+     * source in <code>java:comp</code> JNDI by default. The executor must therefore run its tasks with the naming,
+     * class loading and security context of the calling component, as a
+     * <code>javax.enterprise.concurrent.ManagedExecutorService</code> does, or an executor of which the tasks
+     * are contextualized by a <code>javax.enterprise.concurrent.ContextService</code>. A plain {@link Executor}, such
+     * as one backed by a {@link java.util.concurrent.ThreadPoolExecutor}, must not be used with the default
+     * implementation. An implementation that itself captures the context of the calling thread and propagates it to
+     * its tasks may accept any executor, and must document that it does. As the CDI request context is not
+     * propagated in either case, stores used with this method must not depend on request scoped beans.
+     * <p>
+     * This method returns before the credential is validated. The credential must therefore not be cleared,
+     * nor closed, until the returned stage has completed; a credential cleared before that is validated as an
+     * empty value and silently yields an invalid result. In particular, the credential must not be passed to this
+     * method from within a try-with-resources statement. Instead, clear it once the stage completes:
+     * <blockquote><pre>{@code
+identityStoreHandler.validate(credential, executor)
+                    .whenComplete((result, failure) -> credential.clear());
+     * }</pre></blockquote>
+     *
+     * @param credential The credential to validate.
+     * @param executor The executor used to run blocking calls, which must propagate the context of the calling component.
+     * @return A stage that completes with the validation result, or exceptionally if the validation failed.
+     */
+    default CompletionStage<CredentialValidationResult> validate(Credential credential, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> validate(credential), executor);
+    }
 }
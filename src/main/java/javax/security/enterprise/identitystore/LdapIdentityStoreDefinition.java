@@ -160,6 +160,28 @@ public @interface LdapIdentityStoreDefinition {
      * Search filter to find callers when callerSearchBase is set.
      * The search is performed starting from the callerSearchBase DN
      * with the scope specified by callerSearchScope.
+     * <p>
+     * If not empty, the value must be a valid search filter in the string representation
+     * defined by RFC 4515 (e.g., "<code>(objectClass=person)</code>"). The runtime
+     * combines it with an equality assertion for the callerNameAttribute, so that
+     * the effective filter for a caller named <code>peter</code> is:
+     * <pre>
+     * <code>
+     * (&amp;(uid=peter)(objectClass=person))
+     * </code>
+     * </pre>
+     * If empty, only the equality assertion is used, e.g. "<code>(uid=peter)</code>".
+     * <p>
+     * The caller name is inserted as an assertion value escaped as required by
+     * RFC 4515 section 3, and can therefore never change the structure of the filter.
+     * As that structure only depends on this member, implementations should parse
+     * the filter once when the identity store is created and only fill in the
+     * assertion value for each search, instead of formatting and re-parsing a filter
+     * string per credential validation. A non-empty value that is not a valid filter
+     * must cause the deployment to fail, not the first search.
+     * <p>
+     * If this member is a deferred EL expression, parsing and validation take place
+     * whenever the evaluated value differs from the previously evaluated value.
      *
      * @return Search expression to find callers.
      */
@@ -196,6 +218,16 @@ public @interface LdapIdentityStoreDefinition {
      * Search filter to find groups when groupSearchBase is set.
      * The search is performed starting from the groupSearchBase DN
      * with the scope specified by groupSearchScope.
+     * <p>
+     * If not empty, the value must be a valid search filter in the string representation
+     * defined by RFC 4515 (e.g., "<code>(objectClass=groupOfNames)</code>"). The runtime
+     * combines it with an equality assertion for the groupMemberAttribute, with the
+     * caller's DN as the RFC 4515 escaped assertion value. If empty, only the equality
+     * assertion is used, e.g. "<code>(member=uid=peter,ou=caller,dc=jsr375,dc=net)</code>".
+     * <p>
+     * The same rules as for {@link #callerSearchFilter()} apply: the filter should be
+     * parsed once when the identity store is created, and a non-empty value that is not
+     * a valid filter must cause the deployment to fail.
      *
      * @return Search expression to find groups.
      */
@@ -323,6 +355,49 @@ public @interface LdapIdentityStoreDefinition {
      */
     String maxResultsExpression() default "";
 
+    /**
+     * Set the number of persistent connections over which concurrent caller and group searches
+     * are multiplexed (pipelined).
+     * <p>
+     * When larger than 0, the search requests of concurrent credential validations and group lookups
+     * are sent over these connections, which are authenticated with bindDn, without waiting for the
+     * responses to earlier requests on the same connection. Each response is matched to its request
+     * using the LDAP message ID (RFC 4511 section 4.1.1), so that a few connections can serve many
+     * concurrent callers. Bind operations that verify a caller's password change the authentication
+     * state of the connection they are performed on, and are therefore never performed on these connections.
+     * <p>
+     * The default value of 0 means searches are not pipelined, and each search has a connection
+     * to itself while it is in progress.
+     * 
+     * @return The number of connections for pipelined searches.
+     */
+    int pipelinedConnections() default 0;
+
+    /**
+     * Allow pipelinedConnections to be specified as an EL expression.
+     * If set, overrides any value set with pipelinedConnections.
+     * 
+     * @return The pipelinedConnections EL expression
+     */
+    String pipelinedConnectionsExpression() default "";
+
+    /**
+     * Set the maximum number of searches that may be in progress at the same time on a single
+     * connection when pipelinedConnections is larger than 0. Searches beyond this number wait
+     * until a search on one of the connections has completed.
+     * 
+     * @return The maximum number of searches in progress per connection.
+     */
+    int maxPipelinedSearches() default 100;
+
+    /**
+     * Allow maxPipelinedSearches to be specified as an EL expression.
+     * If set, overrides any value set with maxPipelinedSearches.
+     * 
+     * @return The maxPipelinedSearches EL expression
+     */
+    String maxPipelinedSearchesExpression() default "";
+
     /**
      * Determines the order in case multiple IdentityStores are found.
      * @return The priority.
@@ -40,8 +40,13 @@
 
 package javax.security.enterprise.identitystore;
 
+import java.nio.CharBuffer;
+import java.util.Arrays;
 import java.util.Map;
 
+import javax.security.enterprise.credential.DirectPassword;
+import javax.security.enterprise.credential.Password;
+
 /**
  * {@code PasswordHash} is an interface for objects that can generate and verify password hashes.
  * <p>
@@ -96,6 +101,9 @@ public interface PasswordHash {
      * The {@code hashedPassword} parameter should be provided exactly as retrieved from the database,
      * with no decoding or formatting applied. The {@code password} parameter should be hashed and
      * compared to the hashed password.
+     * <p>
+     * The comparison of the hash values should take a time that does not depend on the position of the
+     * first byte that differs, for instance by using {@link java.security.MessageDigest#isEqual(byte[], byte[])}.
      * 
      * @param password The password to verify.
      * @param hashedPassword The hashed password to compare against.
@@ -103,4 +111,34 @@ public interface PasswordHash {
      */
     boolean verify(char[] password, String hashedPassword);
 
+    /**
+     * Verify a password against the hashed password value retrieved from a user's account.
+     * <p>
+     * This is equivalent to {@link #verify(char[], String)}, but takes a {@link Password}, which may
+     * keep its value outside of the heap, such as a {@link DirectPassword}. Implementations that can
+     * hash the password directly from the view returned by {@link Password#asCharBuffer()} are encouraged
+     * to override this method, so that the password is never copied to the heap.
+     * <p>
+"     * The default implementation copies the password to a temporary array, calls
+     * {@link #verify(char[], String)} and clears the temporary array.
+     * <p>
+     * The built-in identity stores must verify passwords with this method rather than with
+     * {@link #verify(char[], String)}, so that no copy of the value of a {@link DirectPassword}
+     * remains on the heap after verification.
+     * 
+     * @param password The password to verify.
+     * @param hashedPassword The hashed password to compare against.
+     * @return True if the password matched the hashed password, false otherwise.
+     */
+    default boolean verify(Password password, String hashedPassword) {
+        CharBuffer passwordValue = password.asCharBuffer();
+        char[] temporaryValue = new char[passwordValue.remaining()];
+        passwordValue.get(temporaryValue);
+        try {
+            return verify(temporaryValue, hashedPassword);
+        } finally {
+            Arrays.fill(temporaryValue, (char) 0x00);
+        }
+    }
+
 }
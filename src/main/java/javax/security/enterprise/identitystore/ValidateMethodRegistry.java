@@ -0,0 +1,148 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://oss.oracle.com/licenses/CDDL+GPL-1.1
+ * or LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package javax.security.enterprise.identitystore;
+
+import static java.lang.invoke.MethodHandles.constant;
+import static java.lang.invoke.MethodHandles.dropArguments;
+import static java.lang.invoke.MethodType.methodType;
+import static javax.security.enterprise.identitystore.CredentialValidationResult.NOT_VALIDATED_RESULT;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.security.enterprise.credential.Credential;
+
+/**
+ * Registry of the <code>validate</code> overloads of {@link IdentityStore} implementations, as used by
+ * {@link IdentityStore#validate(Credential)}.
+ * <p>
+ * For each combination of store class and credential class the overload is resolved only once, after
+ * which it is invoked through a method handle of type <code>(IdentityStore, Credential)CredentialValidationResult</code>.
+ * The overloads of a store class are kept with that class, so they do not prevent it from being unloaded.
+ * <p>
+ * The resolved overloads are only cached for credential classes that are visible from the class loader of the
+ * store class, i.e. that were loaded by that loader or one of its ancestors. The cache therefore never refers to
+ * a credential class that may be unloaded before the store class. This matters for stores provided by the
+ * runtime, such as the built-in LDAP and database stores, which outlive the applications that pass them their
+ * own {@link Credential} subclasses. For such credentials the overload is resolved on every call instead.
+ */
+final class ValidateMethodRegistry {
+
+    private static final MethodType VALIDATE_TYPE = methodType(CredentialValidationResult.class, IdentityStore.class, Credential.class);
+
+    private static final MethodHandle NOT_VALIDATED = dropArguments(
+        constant(CredentialValidationResult.class, NOT_VALIDATED_RESULT), 0, IdentityStore.class, Credential.class);
+
+    private static final ClassValue<ConcurrentMap<Class<?>, MethodHandle>> VALIDATE_METHODS = new ClassValue<ConcurrentMap<Class<?>, MethodHandle>>() {
+        @Override
+        protected ConcurrentMap<Class<?>, MethodHandle> computeValue(Class<?> storeType) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private ValidateMethodRegistry() {
+    }
+
+    /**
+     * Returns the handle to invoke for validating a credential of the given type with a store of the given type.
+     *
+     * @param storeType the class of the identity store
+     * @param credentialType the class of the credential
+     * @return handle to the most specific overload, or a handle returning {@link CredentialValidationResult#NOT_VALIDATED_RESULT}
+     * if the store has no overload for the credential type or any of its superclasses.
+     */
+    static MethodHandle getValidateMethod(Class<? extends IdentityStore> storeType, Class<? extends Credential> credentialType) {
+        ConcurrentMap<Class<?>, MethodHandle> validateMethods = VALIDATE_METHODS.get(storeType);
+
+        MethodHandle validateMethod = validateMethods.get(credentialType);
+        if (validateMethod == null) {
+            validateMethod = findValidateMethod(storeType, credentialType);
+            if (isVisibleFrom(credentialType, storeType.getClassLoader())) {
+                validateMethods.putIfAbsent(credentialType, validateMethod);
+            }
+        }
+
+        return validateMethod;
+    }
+
+    private static boolean isVisibleFrom(Class<?> type, ClassLoader classLoader) {
+        ClassLoader typeClassLoader = type.getClassLoader();
+
+        // The bootstrap class loader is an ancestor of every class loader
+        if (typeClassLoader == null) {
+            return true;
+        }
+
+        try {
+            for (ClassLoader loader = classLoader; loader != null; loader = loader.getParent()) {
+                if (loader == typeClassLoader) {
+                    return true;
+                }
+            }
+        } catch (SecurityException e) {
+            // Not allowed to inspect the class loader hierarchy; don't cache
+        }
+
+        return false;
+    }
+
+    private static MethodHandle findValidateMethod(Class<?> storeType, Class<?> credentialType) {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+        // Classes only; the validate(Credential) method itself is declared for an interface and never matches
+        for (Class<?> type = credentialType; type != null && Credential.class.isAssignableFrom(type); type = type.getSuperclass()) {
+            try {
+                return lookup.findVirtual(storeType, "validate", methodType(CredentialValidationResult.class, type))
+                             .asType(VALIDATE_TYPE);
+            } catch (NoSuchMethodException e) {
+                // Try the superclass
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        return NOT_VALIDATED;
+    }
+
+}
@@ -85,13 +85,68 @@
  * For completeness, this concerns the following annotations:
  * 
  * <ul>
+ * <li>{@link javax.security.enterprise.authentication.mechanism.http.AutoApplySession}</li>
  * <li>{@link javax.security.enterprise.authentication.mechanism.http.LoginToContinue}</li>
  * <li>{@link javax.security.enterprise.authentication.mechanism.http.RememberMe}</li>
  * </ul>
  * 
  * <p>
  * Expression language is supported for these annotations as well, but in a slightly different way.
- * See the javadoc of both these annotations for how the expression language support differs.
+ * See the javadoc of each of these annotations for how the expression language support differs.
+ * 
+ * <h3>Evaluation of expressions</h3>
+ * 
+ * Where this specification states that an expression is evaluated for every request, this concerns the value
+ * of the expression, not its text. Since the text of an expression in an annotation can not change after deployment,
+ * runtimes are expected to parse each expression only once, at deployment time or at its first use, and:
+ * 
+ * <ul>
+ * <li>report an expression that can not be parsed as a deployment error, rather than when it is first evaluated;</li>
+ * <li>evaluate an expression that does not depend on any variable or function that can change, such as a literal
+ * or an expression only using constants, only once, and use that value for every request;</li>
+ * <li>keep other expressions as parsed (compiled) value expressions, which are then only evaluated for each request.
+ * A runtime may also keep the last value of such an expression, for as long as none of the beans or implicit objects
+ * the expression refers to can have changed.</li>
+ * </ul>
+ * 
+ * <h2>Flight Recorder events</h2>
+ * 
+ * Runtimes executing on a Java platform that supports JDK Flight Recorder (<code>jdk.jfr</code>) should emit the
+ * following events, so that authentication can be correlated with other activity, such as garbage collection and I/O,
+ * in recordings. Each event covers the duration of the call it is named after, is emitted on the thread that made
+ * the call, and belongs to the category <code>Java EE Security</code>.
+ * 
+ * <table border="1" summary="Flight Recorder events">
+ * <tr><th>Event name</th><th>Call</th><th>Fields</th></tr>
+ * <tr><td><code>javax.security.enterprise.IdentityStoreHandlerValidate</code></td>
+ *     <td>{@link javax.security.enterprise.identitystore.IdentityStoreHandler#validate IdentityStoreHandler.validate}</td>
+ *     <td><code>credentialClass</code>, <code>status</code></td></tr>
+ * <tr><td><code>javax.security.enterprise.IdentityStoreValidate</code></td>
+ *     <td>{@link javax.security.enterprise.identitystore.IdentityStore#validate IdentityStore.validate}</td>
+ *     <td><code>storeId</code>, <code>credentialClass</code>, <code>status</code></td></tr>
+ * <tr><td><code>javax.security.enterprise.IdentityStoreGetCallerGroups</code></td>
+ *     <td>{@link javax.security.enterprise.identitystore.IdentityStore#getCallerGroups IdentityStore.getCallerGroups}</td>
+ *     <td><code>storeId</code>, <code>groupCount</code></td></tr>
+ * <tr><td><code>javax.security.enterprise.PasswordHashVerify</code></td>
+ *     <td>{@link javax.security.enterprise.identitystore.PasswordHash#verify PasswordHash.verify}</td>
+ *     <td><code>passwordHashClass</code>, <code>matched</code></td></tr>
+ * <tr><td><code>javax.security.enterprise.RememberMeValidate</code></td>
+ *     <td>{@link javax.security.enterprise.identitystore.RememberMeIdentityStore#validate RememberMeIdentityStore.validate}</td>
+ *     <td><code>credentialClass</code>, <code>status</code></td></tr>
+ * <tr><td><code>javax.security.enterprise.ValidateRequest</code></td>
+ *     <td>{@link javax.security.enterprise.authentication.mechanism.http.HttpAuthenticationMechanism#validateRequest HttpAuthenticationMechanism.validateRequest}</td>
+ *     <td><code>mechanismClass</code>, <code>status</code></td></tr>
+ * </table>
+ * 
+ * <p>
+ * The <code>storeId</code> field has the same value as reported to {@link SecurityMetrics}. The <code>status</code>
+ * field holds the name of the {@link javax.security.enterprise.identitystore.CredentialValidationResult.Status} or
+ * {@link AuthenticationStatus} constant returned, and is empty if the call threw an exception. Class fields hold the
+ * class of the credential, password hash or authentication mechanism.
+ * 
+ * <p>
+ * Events must be disabled by default. When an event is disabled, emitting it must cost no more than checking that it is
+ * disabled; in particular, no event object and no field value may be created.
  *
  * @version 1.0
  */
@@ -0,0 +1,147 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://oss.oracle.com/licenses/CDDL+GPL-1.1
+ * or LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package javax.security.enterprise.credential;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class PasswordTest {
+
+    @Test
+    public void testEqual() {
+        Password password = new Password("secret");
+
+        assertTrue(password.compareTo("secret"));
+        assertTrue(password.compareToSequence(new StringBuilder("secret")));
+        assertTrue(password.compareToChars("secret".toCharArray()));
+    }
+
+    @Test
+    public void testUnequal() {
+        Password password = new Password("secret");
+
+        assertFalse(password.compareTo("secreT"));
+        assertFalse(password.compareTo("Secret"));
+        assertFalse(password.compareToSequence(new StringBuilder("public")));
+        assertFalse(password.compareToChars("public".toCharArray()));
+    }
+
+    @Test
+    public void testLengthMismatch() {
+        Password password = new Password("secret");
+
+        assertFalse(password.compareTo("secre"));
+        assertFalse(password.compareTo("secrets"));
+        assertFalse(password.compareTo("secretsecret"));
+        assertFalse(password.compareToChars("secre".toCharArray()));
+        assertFalse(password.compareToChars("secrets".toCharArray()));
+    }
+
+    @Test
+    public void testEmpty() {
+        Password password = new Password("");
+
+        assertTrue(password.compareTo(""));
+        assertTrue(password.compareToChars(new char[0]));
+        assertFalse(password.compareTo("secret"));
+        assertFalse(new Password("secret").compareTo(""));
+    }
+
+    @Test
+    public void testNull() {
+        Password password = new Password("secret");
+
+        assertFalse(password.compareTo(null));
+        assertFalse(password.compareToSequence(null));
+        assertFalse(password.compareToChars(null));
+    }
+
+    @Test
+    public void testCleared() {
+        char[] value = "secret".toCharArray();
+        Password password = new Password(value);
+        char[] passwordValue = password.getValue();
+
+        password.clear();
+
+        assertArrayEquals(new char[0], password.getValue());
+        assertArrayEquals(new char[6], passwordValue);
+        assertFalse(password.compareTo("secret"));
+        assertTrue(password.compareTo(""));
+    }
+
+    @Test
+    public void testClosed() {
+        Password password = new Password("secret");
+
+        try (Password closeable = password) {
+            assertTrue(closeable.compareTo("secret"));
+        }
+
+        assertFalse(password.compareTo("secret"));
+    }
+
+    @Test
+    public void testDirectPassword() {
+        DirectPassword password = new DirectPassword("secret");
+
+        assertTrue(password.compareTo("secret"));
+        assertTrue(password.compareToSequence(new StringBuilder("secret")));
+        assertTrue(password.compareToChars("secret".toCharArray()));
+        assertFalse(password.compareTo("secreT"));
+        assertFalse(password.compareTo("secrets"));
+        assertFalse(password.compareToChars("secre".toCharArray()));
+        assertFalse(password.compareTo(""));
+        assertFalse(password.compareTo(null));
+        assertArrayEquals("secret".toCharArray(), password.getValue());
+        assertTrue(password.asCharBuffer().isDirect());
+
+        password.clear();
+
+        assertArrayEquals(new char[0], password.getValue());
+        assertFalse(password.compareTo("secret"));
+        assertTrue(password.compareTo(""));
+    }
+
+}
@@ -0,0 +1,187 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * https://oss.oracle.com/licenses/CDDL+GPL-1.1
+ * or LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package javax.security.enterprise.identitystore;
+
+import static javax.security.enterprise.identitystore.CredentialValidationResult.Status.VALID;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.util.Base64;
+import java.util.Map;
+
+import javax.security.enterprise.credential.BasicAuthenticationCredential;
+import javax.security.enterprise.credential.Credential;
+import javax.security.enterprise.credential.RememberMeCredential;
+import javax.security.enterprise.credential.UsernamePasswordCredential;
+
+import org.junit.Test;
+
+public class IdentityStoreValidateTest {
+
+    @Test
+    public void testExactOverload() {
+        CredentialValidationResult result = new TestIdentityStore().validate((Credential) new UsernamePasswordCredential("peter", "secret1"));
+
+        assertEquals(VALID, result.getStatus());
+        assertEquals("peter", result.getCallerPrincipal().getName());
+    }
+
+    @Test
+    public void testSuperclassOverload() {
+        String authorizationHeader = Base64.getEncoder().encodeToString("peter:secret1".getBytes());
+
+        CredentialValidationResult result = new TestIdentityStore().validate((Credential) new BasicAuthenticationCredential(authorizationHeader));
+
+        assertEquals(VALID, result.getStatus());
+        assertEquals("peter", result.getCallerPrincipal().getName());
+    }
+
+    @Test
+    public void testUnknownCredential() {
+        CredentialValidationResult result = new TestIdentityStore().validate(new RememberMeCredential("token"));
+
+        assertSame(CredentialValidationResult.NOT_VALIDATED_RESULT, result);
+    }
+
+    @Test
+    public void testCachedForVisibleCredential() throws Exception {
+        new TestIdentityStore().validate((Credential) new TestCredential("peter", "secret1"));
+
+        assertTrue(getValidateMethods(TestIdentityStore.class).containsKey(TestCredential.class));
+    }
+
+    @Test
+    public void testNotCachedForForeignCredential() throws Exception {
+        Class<?> foreignCredentialType = new ChildFirstClassLoader(TestCredential.class).loadClass(TestCredential.class.getName());
+        Constructor<?> foreignCredentialConstructor = foreignCredentialType.getConstructor(String.class, String.class);
+        foreignCredentialConstructor.setAccessible(true);
+        Credential foreignCredential = (Credential) foreignCredentialConstructor.newInstance("peter", "secret1");
+
+        CredentialValidationResult result = new TestIdentityStore().validate(foreignCredential);
+
+        assertEquals(VALID, result.getStatus());
+        assertEquals("peter", result.getCallerPrincipal().getName());
+        assertFalse(getValidateMethods(TestIdentityStore.class).containsKey(foreignCredentialType));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Class<?>, MethodHandle> getValidateMethods(Class<?> storeType) throws Exception {
+        Field validateMethods = ValidateMethodRegistry.class.getDeclaredField("VALIDATE_METHODS");
+        validateMethods.setAccessible(true);
+
+        return ((ClassValue<Map<Class<?>, MethodHandle>>) validateMethods.get(null)).get(storeType);
+    }
+
+    public static class TestIdentityStore implements IdentityStore {
+
+        public CredentialValidationResult validate(UsernamePasswordCredential credential) {
+            if (credential.compareTo("peter", "secret1")) {
+                return new CredentialValidationResult(credential.getCaller());
+            }
+
+            return CredentialValidationResult.INVALID_RESULT;
+        }
+    }
+
+    /**
+     * Loads a single class itself, from the same bytes as the class of which the name is given, so that
+     * the resulting class is not visible from the class loader of the test.
+     */
+    private static final class ChildFirstClassLoader extends ClassLoader {
+
+        private final String className;
+
+        ChildFirstClassLoader(Class<?> type) {
+            super(type.getClassLoader());
+            this.className = type.getName();
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!className.equals(name)) {
+                return super.loadClass(name, resolve);
+            }
+
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> type = findLoadedClass(name);
+                if (type == null) {
+                    byte[] bytes = readClass(name);
+                    type = defineClass(name, bytes, 0, bytes.length);
+                }
+
+                return type;
+            }
+        }
+
+        private byte[] readClass(String name) throws ClassNotFoundException {
+            try (InputStream in = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                byte[] buffer = new byte[4096];
+                for (int length; (length = in.read(buffer)) != -1;) {
+                    out.write(buffer, 0, length);
+                }
+
+                return out.toByteArray();
+            } catch (IOException | NullPointerException e) {
+                throw new ClassNotFoundException(name, e);
+            }
+        }
+    }
+
+}
+
+/**
+ * A credential that is a top level class, so that it can be loaded by another class loader on its own.
+ */
+class TestCredential extends UsernamePasswordCredential {
+
+    public TestCredential(String callerName, String password) {
+        super(callerName, password);
+    }
+}